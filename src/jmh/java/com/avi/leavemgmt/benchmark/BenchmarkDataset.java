@@ -0,0 +1,129 @@
+package com.avi.leavemgmt.benchmark;
+
+import com.avi.leavemgmt.MiniLeaveManagementSystemApplication;
+import com.avi.leavemgmt.model.Employee;
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.model.LeaveType;
+import com.avi.leavemgmt.repository.EmployeeRepository;
+import com.avi.leavemgmt.repository.LeaveRequestRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the application without the web layer against a private in-memory H2 database
+ * and seeds a synthetic dataset: one manager per {@value #TEAM_SIZE} employees and
+ * {@code leaveRequests} historical requests spread across the team members.
+ */
+final class BenchmarkDataset implements AutoCloseable {
+
+    static final int TEAM_SIZE = 10;
+    private static final int SEED_CHUNK = 1000;
+
+    private final ConfigurableApplicationContext context;
+    private final List<Long> memberIds = new ArrayList<>();
+    private final List<Long> managerIds = new ArrayList<>();
+    private final List<Long> memberManagerIds = new ArrayList<>();
+
+    private BenchmarkDataset(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    // Passed as command-line arguments so they take precedence over application.yml
+    static BenchmarkDataset start(int leaveRequests, String profile, String... extraProperties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=" + profile,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "--spring.flyway.locations=classpath:db/migration",
+                "--spring.jpa.open-in-view=false"));
+        for (String property : extraProperties) {
+            args.add("--" + property);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MiniLeaveManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        BenchmarkDataset dataset = new BenchmarkDataset(context);
+        dataset.seed(leaveRequests);
+        return dataset;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    int memberCount() {
+        return memberIds.size();
+    }
+
+    Long memberId(int index) {
+        return memberIds.get(index);
+    }
+
+    Long managerOf(int index) {
+        return memberManagerIds.get(index);
+    }
+
+    Long managerId(int index) {
+        return managerIds.get(index);
+    }
+
+    int managerCount() {
+        return managerIds.size();
+    }
+
+    private void seed(int leaveRequests) {
+        EmployeeRepository employeeRepository = bean(EmployeeRepository.class);
+        LeaveRequestRepository leaveRequestRepository = bean(LeaveRequestRepository.class);
+        Random random = new Random(42);
+
+        int employees = Math.max(TEAM_SIZE, leaveRequests / 5);
+        Long currentManager = null;
+        for (int i = 0; i < employees; i++) {
+            boolean manager = i % TEAM_SIZE == 0;
+            Employee employee = new Employee("Employee " + i, "employee" + i + "@bench.example", "Department " + (i / 50),
+                    manager ? "Manager" : "Engineer", manager ? null : currentManager);
+            employee.setJoiningDate(LocalDate.of(2020, 1, 1));
+            employee.setAnnualLeaveBalance(1_000_000);
+            Long id = employeeRepository.save(employee).getId();
+            if (manager) {
+                currentManager = id;
+                managerIds.add(id);
+            } else {
+                memberIds.add(id);
+                memberManagerIds.add(currentManager);
+            }
+        }
+
+        // Historical requests stay in the past so they never collide with benchmarked submissions
+        List<LeaveRequest> chunk = new ArrayList<>(SEED_CHUNK);
+        LeaveRequest.LeaveStatus[] statuses = LeaveRequest.LeaveStatus.values();
+        LeaveType[] types = LeaveType.values();
+        for (int i = 0; i < leaveRequests; i++) {
+            int member = random.nextInt(memberIds.size());
+            LocalDate start = LocalDate.of(2021, 1, 4).plusDays(random.nextInt(3 * 365));
+            LeaveRequest leaveRequest = new LeaveRequest(memberIds.get(member), types[i % types.length], start,
+                    start.plusDays(random.nextInt(10)), "Synthetic benchmark leave");
+            leaveRequest.setStatus(statuses[i % statuses.length]);
+            if (leaveRequest.getStatus() != LeaveRequest.LeaveStatus.PENDING) {
+                leaveRequest.setApprovedBy(memberManagerIds.get(member));
+                leaveRequest.setApprovedDate(start.minusDays(7));
+            }
+            chunk.add(leaveRequest);
+            if (chunk.size() == SEED_CHUNK) {
+                leaveRequestRepository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        leaveRequestRepository.saveAll(chunk);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
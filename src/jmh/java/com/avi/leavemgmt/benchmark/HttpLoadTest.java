@@ -0,0 +1,104 @@
+package com.avi.leavemgmt.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load against a running instance: {@code load.concurrency} clients each send
+ * GET requests back to back for {@code load.duration} seconds after a warm-up, then throughput
+ * and latency percentiles are printed. Run it once against an instance started with
+ * {@code --spring.threads.virtual.enabled=false} and once with {@code true} (Java 21) to compare.
+ * <pre>
+ * mvn -P benchmarks compile exec:java -Dexec.mainClass=com.avi.leavemgmt.benchmark.HttpLoadTest \
+ *     -Dload.url=http://localhost:8080/api/leave-requests -Dload.concurrency=200
+ * </pre>
+ */
+public final class HttpLoadTest {
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(System.getProperty("load.url", "http://localhost:8080/api/leave-requests"));
+        int concurrency = Integer.getInteger("load.concurrency", 64);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.duration", 30));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        System.out.printf("GET %s with %d clients: %ds warm-up, %ds measurement%n",
+                uri, concurrency, warmup.toSeconds(), duration.toSeconds());
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            results.add(clients.submit(() -> run(client, request, measureFrom, measureUntil, errors)));
+        }
+        List<long[]> latencies = new ArrayList<>();
+        for (Future<long[]> result : results) {
+            latencies.add(result.get());
+        }
+        clients.shutdown();
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        if (all.length == 0) {
+            System.out.printf("No successful requests (%d errors)%n", errors.get());
+            return;
+        }
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+                all.length, errors.get(), all.length / (double) duration.toSeconds());
+        System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                percentile(all, 50), percentile(all, 90), percentile(all, 99), percentile(all, 99.9),
+                all[all.length - 1] / 1_000_000.0);
+    }
+
+    // Latencies in nanoseconds of the successful requests that started inside the measurement window
+    private static long[] run(HttpClient client, HttpRequest request, long measureFrom, long measureUntil,
+                              AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long started;
+        while ((started = System.nanoTime()) < measureUntil) {
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (started < measureFrom) {
+                continue;
+            }
+            if (!ok) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - started;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,132 @@
+package com.avi.leavemgmt.benchmark;
+
+import com.avi.leavemgmt.dto.EmployeeDTO;
+import com.avi.leavemgmt.dto.LeaveDecisionDTO;
+import com.avi.leavemgmt.dto.LeaveRequestDTO;
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.model.LeaveType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of DTO lists as returned by the list endpoints, and deserialization of
+ * the same lists and of an approval body. {@code mapper=blackbird} adds the module registered
+ * by {@code JacksonConfig}; {@code decisionAsMap} is how approval bodies used to be read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final byte[] DECISION_JSON = "{\"managerId\":42,\"comments\":\"Approved, enjoy the break\"}".getBytes();
+
+    @Param({"100", "1000"})
+    public int listSize;
+
+    @Param({"default", "blackbird"})
+    public String mapper;
+
+    private ObjectMapper objectMapper;
+    private List<LeaveRequestDTO> leaveRequests;
+    private List<EmployeeDTO> employees;
+    private byte[] leaveRequestJson;
+    private byte[] employeeJson;
+    private ObjectReader leaveRequestListReader;
+    private ObjectReader employeeListReader;
+    private ObjectReader decisionReader;
+    private ObjectReader decisionMapReader;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (mapper.equals("blackbird")) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        leaveRequests = new ArrayList<>(listSize);
+        employees = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            LocalDate start = LocalDate.of(2026, 1, 5).plusDays(i % 300);
+            LeaveRequestDTO leaveRequest = new LeaveRequestDTO((long) i, (long) i % 97, LeaveType.values()[i % 3], start,
+                    start.plusDays(4), "Synthetic benchmark leave", LeaveRequest.LeaveStatus.APPROVED);
+            leaveRequest.setEmployeeName("Employee " + i % 97);
+            leaveRequest.setAppliedDate(start.minusDays(14));
+            leaveRequest.setApprovedBy(1L);
+            leaveRequest.setApprovedByName("Manager 1");
+            leaveRequest.setApprovedDate(start.minusDays(7));
+            leaveRequest.setComments("Approved");
+            leaveRequest.setWorkingDays(5L);
+            leaveRequests.add(leaveRequest);
+
+            EmployeeDTO employee = new EmployeeDTO((long) i, "Employee " + i, "employee" + i + "@bench.example",
+                    "Engineering", "Engineer", 1L);
+            employee.setManagerName("Manager 1");
+            employee.setJoiningDate(LocalDate.of(2022, 3, 1));
+            employee.setAnnualLeaveBalance(20);
+            employees.add(employee);
+        }
+        leaveRequestJson = objectMapper.writeValueAsBytes(leaveRequests);
+        employeeJson = objectMapper.writeValueAsBytes(employees);
+        leaveRequestListReader = objectMapper.readerFor(new TypeReference<List<LeaveRequestDTO>>() { });
+        employeeListReader = objectMapper.readerFor(new TypeReference<List<EmployeeDTO>>() { });
+        decisionReader = objectMapper.readerFor(LeaveDecisionDTO.class);
+        decisionMapReader = objectMapper.readerFor(new TypeReference<Map<String, Object>>() { });
+    }
+
+    @Benchmark
+    public byte[] leaveRequestList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(leaveRequests);
+    }
+
+    @Benchmark
+    public byte[] employeeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<LeaveRequestDTO> readLeaveRequestList() throws IOException {
+        return leaveRequestListReader.readValue(leaveRequestJson);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> readEmployeeList() throws IOException {
+        return employeeListReader.readValue(employeeJson);
+    }
+
+    @Benchmark
+    public LeaveDecisionDTO decision() throws IOException {
+        return decisionReader.readValue(DECISION_JSON);
+    }
+
+    // Parsing the managerId the way the controller used to
+    @Benchmark
+    public Long decisionAsMap() throws IOException {
+        Map<String, Object> body = decisionMapReader.readValue(DECISION_JSON);
+        return Long.valueOf(body.get("managerId").toString());
+    }
+}
@@ -0,0 +1,76 @@
+package com.avi.leavemgmt.benchmark;
+
+import com.avi.leavemgmt.dto.EmployeeDTO;
+import com.avi.leavemgmt.dto.JobRunDTO;
+import com.avi.leavemgmt.service.EmployeeService;
+import com.avi.leavemgmt.service.LeaveAccrualJob;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One monthly accrual over every employee: the chunked set-based job against the per-employee
+ * {@code updateEmployee} loop it replaces. Each call accrues a fresh month, since a completed
+ * month is skipped. The dataset seeds {@code datasetSize / 5} employees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LeaveAccrualBenchmark {
+
+    @Param({"25000"})
+    public int datasetSize;
+
+    @Param({"1000"})
+    public int chunkSize;
+
+    private BenchmarkDataset dataset;
+    private LeaveAccrualJob leaveAccrualJob;
+    private EmployeeService employeeService;
+    private YearMonth period = YearMonth.of(2020, 1);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(datasetSize, "prod", "leave.accrual.chunk-size=" + chunkSize);
+        leaveAccrualJob = dataset.bean(LeaveAccrualJob.class);
+        employeeService = dataset.bean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public JobRunDTO setBased() {
+        period = period.plusMonths(1);
+        return leaveAccrualJob.accrue(period);
+    }
+
+    @Benchmark
+    public int perEmployeeUpdates() {
+        int updated = 0;
+        for (EmployeeDTO employee : employeeService.getAllEmployees()) {
+            employee.setAnnualLeaveBalance(employee.getAnnualLeaveBalance() + 2);
+            employeeService.updateEmployee(employee.getId(), employee);
+            updated++;
+        }
+        return updated;
+    }
+}
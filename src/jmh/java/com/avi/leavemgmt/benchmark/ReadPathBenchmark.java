@@ -0,0 +1,111 @@
+package com.avi.leavemgmt.benchmark;
+
+import com.avi.leavemgmt.dto.LeaveRequestDTO;
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.repository.LeaveRequestRepository;
+import com.avi.leavemgmt.service.EmployeeNameCache;
+import com.avi.leavemgmt.service.WorkingDayCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leave request list reads through managed entities in a read-write transaction (the previous
+ * service path) against the JPQL DTO projection in a read-only transaction. Run with
+ * {@code -Djmh.args="ReadPathBenchmark -prof gc"} to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    @Param({"10000"})
+    public int datasetSize;
+
+    private BenchmarkDataset dataset;
+    private LeaveRequestRepository leaveRequestRepository;
+    private EmployeeNameCache employeeNameCache;
+    private WorkingDayCalculator workingDayCalculator;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(datasetSize, "prod");
+        leaveRequestRepository = dataset.bean(LeaveRequestRepository.class);
+        employeeNameCache = dataset.bean(EmployeeNameCache.class);
+        workingDayCalculator = dataset.bean(WorkingDayCalculator.class);
+        PlatformTransactionManager transactionManager = dataset.bean(PlatformTransactionManager.class);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<LeaveRequestDTO> entityHydration() {
+        return readWriteTransaction.execute(status -> toDTOs(leaveRequestRepository.findAll()));
+    }
+
+    @Benchmark
+    public List<LeaveRequestDTO> dtoProjection() {
+        return readOnlyTransaction.execute(status -> {
+            List<LeaveRequestDTO> dtos = leaveRequestRepository.findAllAsDTOs();
+            for (LeaveRequestDTO dto : dtos) {
+                dto.setWorkingDays(workingDayCalculator.countWorkingDays(dto.getStartDate(), dto.getEndDate()));
+            }
+            return dtos;
+        });
+    }
+
+    // Field-by-field copy with names from the cache, as the services did before the projections
+    private List<LeaveRequestDTO> toDTOs(List<LeaveRequest> leaveRequests) {
+        Set<Long> employeeIds = new HashSet<>();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            employeeIds.add(leaveRequest.getEmployeeId());
+            if (leaveRequest.getApprovedBy() != null) {
+                employeeIds.add(leaveRequest.getApprovedBy());
+            }
+        }
+        Map<Long, String> names = employeeNameCache.getNames(employeeIds);
+
+        List<LeaveRequestDTO> dtos = new ArrayList<>(leaveRequests.size());
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            LeaveRequestDTO dto = new LeaveRequestDTO(leaveRequest.getId(), leaveRequest.getEmployeeId(),
+                    names.get(leaveRequest.getEmployeeId()), leaveRequest.getLeaveType(),
+                    leaveRequest.getStartDate(), leaveRequest.getEndDate(), leaveRequest.getReason(),
+                    leaveRequest.getStatus(), leaveRequest.getAppliedDate(), leaveRequest.getApprovedBy(),
+                    names.get(leaveRequest.getApprovedBy()), leaveRequest.getApprovedDate(),
+                    leaveRequest.getComments());
+            dto.setWorkingDays(workingDayCalculator.countWorkingDays(dto.getStartDate(), dto.getEndDate()));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+}
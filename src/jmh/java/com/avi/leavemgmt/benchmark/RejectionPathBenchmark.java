@@ -0,0 +1,137 @@
+package com.avi.leavemgmt.benchmark;
+
+import com.avi.leavemgmt.dto.LeaveRequestDTO;
+import com.avi.leavemgmt.exception.BusinessRuleException;
+import com.avi.leavemgmt.exception.ForbiddenOperationException;
+import com.avi.leavemgmt.exception.LeaveManagementException;
+import com.avi.leavemgmt.exception.ResourceNotFoundException;
+import com.avi.leavemgmt.model.LeaveType;
+import com.avi.leavemgmt.service.LeaveRequestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rejected requests. {@code overlappingSubmission} and {@code unauthorizedApproval} run
+ * the service rejection paths through the transactional proxies. {@code stackTraceException}
+ * and {@code stacklessException} compare the previous {@link RuntimeException} plus message
+ * matching against the typed domain exceptions, thrown {@code stackDepth} frames deep to stand
+ * in for the servlet, proxy and interceptor frames of a real request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RejectionPathBenchmark {
+
+    private static final String OVERLAP_MESSAGE = "Leave request overlaps with existing approved leave";
+
+    @Param({"1000"})
+    public int datasetSize;
+
+    @Param({"150"})
+    public int stackDepth;
+
+    private BenchmarkDataset dataset;
+    private LeaveRequestService leaveRequestService;
+    private LeaveRequestDTO overlapping;
+    private Long pendingId;
+    private Long otherManagerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(datasetSize, "prod");
+        leaveRequestService = dataset.bean(LeaveRequestService.class);
+
+        // An approved week for the first member that every benchmarked submission collides with
+        LocalDate monday = LocalDate.now().plusDays(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        LeaveRequestDTO approved = leaveRequestService.submitLeaveRequest(new LeaveRequestDTO(null, dataset.memberId(0),
+                LeaveType.CASUAL, monday, monday.plusDays(4), "Benchmark approved leave", null));
+        leaveRequestService.approveLeaveRequest(approved.getId(), dataset.managerOf(0), "Approved");
+        overlapping = new LeaveRequestDTO(null, dataset.memberId(0), LeaveType.CASUAL, monday.plusDays(2),
+                monday.plusDays(3), "Benchmark overlapping leave", null);
+
+        // A pending request that a manager from another team tries to approve
+        pendingId = leaveRequestService.submitLeaveRequest(new LeaveRequestDTO(null, dataset.memberId(0),
+                LeaveType.CASUAL, monday.plusWeeks(1), monday.plusWeeks(1), "Benchmark pending leave", null)).getId();
+        otherManagerId = dataset.managerId(dataset.managerCount() - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public String overlappingSubmission() {
+        try {
+            return leaveRequestService.submitLeaveRequest(overlapping).getStatus().name();
+        } catch (LeaveManagementException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String unauthorizedApproval() {
+        try {
+            return leaveRequestService.approveLeaveRequest(pendingId, otherManagerId, "Approved").getStatus().name();
+        } catch (LeaveManagementException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public int stackTraceException() {
+        try {
+            throwAt(stackDepth, false);
+            return 200;
+        } catch (RuntimeException e) {
+            // How the controllers used to pick a status
+            if (e.getMessage().contains("not found")) {
+                return 404;
+            } else if (e.getMessage().contains("authority")) {
+                return 403;
+            }
+            return 400;
+        }
+    }
+
+    @Benchmark
+    public int stacklessException() {
+        try {
+            throwAt(stackDepth, true);
+            return 200;
+        } catch (ResourceNotFoundException e) {
+            return 404;
+        } catch (ForbiddenOperationException e) {
+            return 403;
+        } catch (LeaveManagementException e) {
+            return 400;
+        }
+    }
+
+    private static void throwAt(int depth, boolean stackless) {
+        if (depth > 0) {
+            throwAt(depth - 1, stackless);
+            return;
+        }
+        throw stackless ? new BusinessRuleException(OVERLAP_MESSAGE) : new RuntimeException(OVERLAP_MESSAGE);
+    }
+}
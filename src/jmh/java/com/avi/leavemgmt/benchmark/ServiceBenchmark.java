@@ -0,0 +1,108 @@
+package com.avi.leavemgmt.benchmark;
+
+import com.avi.leavemgmt.dto.EmployeeDTO;
+import com.avi.leavemgmt.dto.LeaveRequestDTO;
+import com.avi.leavemgmt.model.LeaveType;
+import com.avi.leavemgmt.service.EmployeeService;
+import com.avi.leavemgmt.service.LeaveRequestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end service calls, including DTO mapping, against an embedded H2 seeded with
+ * {@code datasetSize} leave requests. Override with {@code -p datasetSize=...}; compare the
+ * logging cost of the Spring profiles with {@code -p profile=dev,prod}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"10000"})
+    public int datasetSize;
+
+    @Param({"prod"})
+    public String profile;
+
+    private BenchmarkDataset dataset;
+    private LeaveRequestService leaveRequestService;
+    private EmployeeService employeeService;
+    private final AtomicLong submissions = new AtomicLong();
+    private final AtomicLong managerCursor = new AtomicLong();
+    private LocalDate firstMonday;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(datasetSize, profile);
+        leaveRequestService = dataset.bean(LeaveRequestService.class);
+        employeeService = dataset.bean(EmployeeService.class);
+        firstMonday = LocalDate.now().plusDays(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public List<LeaveRequestDTO> getAllLeaveRequests() {
+        return leaveRequestService.getAllLeaveRequests();
+    }
+
+    @Benchmark
+    public List<LeaveRequestDTO> getLeaveRequestsForManager() {
+        int manager = (int) (managerCursor.getAndIncrement() % dataset.managerCount());
+        return leaveRequestService.getLeaveRequestsForManager(dataset.managerId(manager));
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public LeaveRequestDTO submitLeaveRequest() {
+        return leaveRequestService.submitLeaveRequest(nextSubmission().request());
+    }
+
+    @Benchmark
+    public LeaveRequestDTO submitAndApproveLeaveRequest() {
+        Submission submission = nextSubmission();
+        LeaveRequestDTO submitted = leaveRequestService.submitLeaveRequest(submission.request());
+        return leaveRequestService.approveLeaveRequest(submitted.getId(), submission.managerId(), "Approved");
+    }
+
+    // Each call gets a distinct member and week, so submissions never overlap
+    private Submission nextSubmission() {
+        long sequence = submissions.getAndIncrement();
+        int member = (int) (sequence % dataset.memberCount());
+        LocalDate start = firstMonday.plusWeeks(sequence / dataset.memberCount());
+        LeaveRequestDTO request = new LeaveRequestDTO(null, dataset.memberId(member), LeaveType.CASUAL, start,
+                start.plusDays(1), "Benchmark leave request", null);
+        return new Submission(request, dataset.managerOf(member));
+    }
+
+    private record Submission(LeaveRequestDTO request, Long managerId) {
+    }
+}
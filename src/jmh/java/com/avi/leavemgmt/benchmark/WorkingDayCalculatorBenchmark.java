@@ -0,0 +1,74 @@
+package com.avi.leavemgmt.benchmark;
+
+import com.avi.leavemgmt.service.WorkingDayCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-form {@link WorkingDayCalculator} against the day-by-day loop it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkingDayCalculatorBenchmark {
+
+    private static final int RANGES = 1024;
+
+    @Param({"5", "30", "365"})
+    public int spanDays;
+
+    private WorkingDayCalculator calculator;
+    private final LocalDate[] starts = new LocalDate[RANGES];
+    private final LocalDate[] ends = new LocalDate[RANGES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        calculator = new WorkingDayCalculator(List.of("2025-01-01", "2025-05-26", "2025-07-04", "2025-12-25",
+                "2026-01-01", "2026-05-25", "2026-07-03", "2026-12-25"));
+        Random random = new Random(7);
+        for (int i = 0; i < RANGES; i++) {
+            starts[i] = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365));
+            ends[i] = starts[i].plusDays(spanDays - 1);
+        }
+    }
+
+    @Benchmark
+    public long calculator() {
+        int i = next++ & (RANGES - 1);
+        return calculator.countWorkingDays(starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public long dayByDayLoop() {
+        int i = next++ & (RANGES - 1);
+        long workingDays = 0;
+        LocalDate currentDate = starts[i];
+        while (!currentDate.isAfter(ends[i])) {
+            DayOfWeek dayOfWeek = currentDate.getDayOfWeek();
+            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY) {
+                workingDays++;
+            }
+            currentDate = currentDate.plusDays(1);
+        }
+        return workingDays;
+    }
+}
@@ -0,0 +1,76 @@
+package com.avi.leavemgmt.benchmark;
+
+import com.avi.leavemgmt.dto.JobRunDTO;
+import com.avi.leavemgmt.dto.RolloverPreviewDTO;
+import com.avi.leavemgmt.repository.JobCheckpointRepository;
+import com.avi.leavemgmt.service.YearEndRolloverJob;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Year;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The year-end rollover over every employee with one worker against several, and its dry run.
+ * The checkpoints are cleared before each call so the same year runs again; only the first call
+ * has pending requests left to expire. The dataset seeds {@code datasetSize / 5} employees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class YearEndRolloverBenchmark {
+
+    private static final Year YEAR = Year.of(2024);
+
+    @Param({"25000"})
+    public int datasetSize;
+
+    @Param({"1", "4"})
+    public int workers;
+
+    private BenchmarkDataset dataset;
+    private YearEndRolloverJob yearEndRolloverJob;
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.start(datasetSize, "prod", "leave.accrual.enabled=false",
+                "leave.rollover.workers=" + workers);
+        yearEndRolloverJob = dataset.bean(YearEndRolloverJob.class);
+        jobCheckpointRepository = dataset.bean(JobCheckpointRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearCheckpoints() {
+        jobCheckpointRepository.deleteAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public JobRunDTO rollOver() {
+        return yearEndRolloverJob.rollOver(YEAR);
+    }
+
+    @Benchmark
+    public RolloverPreviewDTO preview() {
+        return yearEndRolloverJob.preview(YEAR);
+    }
+}
@@ -2,10 +2,16 @@ package com.avi.leavemgmt;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
 @EnableTransactionManagement
+@EnableRetry
+@EnableCaching
+@EnableScheduling
 public class MiniLeaveManagementSystemApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,20 @@
+package com.avi.leavemgmt.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson modules for the auto-configured ObjectMapper, which Spring Boot picks up as beans.
+ * Blackbird replaces reflective getter, setter and constructor calls with generated lambdas
+ * for every DTO that is read or written, including the NDJSON streams.
+ */
+@Configuration
+public class JacksonConfig {
+    
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.avi.leavemgmt.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics beyond what Actuator registers on its own (Hikari pool, Spring Data repository
+ * invocations, Hibernate statistics, caches): {@code @Timed} service methods and SQL
+ * statements per request.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingStatementInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+    }
+    
+    @Bean
+    public FilterRegistrationBean<QueriesPerRequestFilter> queriesPerRequestFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueriesPerRequestFilter> registration =
+                new FilterRegistrationBean<>(new QueriesPerRequestFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.avi.leavemgmt.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Wraps the DataSource with datasource-proxy and logs statements that take at least
+ * {@code leave.slow-query.threshold-ms}, with their bind parameters. Only a
+ * {@code leave.slow-query.sample-rate} fraction of slow statements is logged, so a
+ * struggling database does not also flood the log.
+ */
+@Configuration
+@ConditionalOnProperty(name = "leave.slow-query.enabled", havingValue = "true")
+public class SlowQueryLoggingConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLoggingConfig.class);
+    
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            @Value("${leave.slow-query.threshold-ms:200}") long thresholdMillis,
+            @Value("${leave.slow-query.sample-rate:1.0}") double sampleRate) {
+        QueryExecutionListener listener = new SlowQueryListener(thresholdMillis, sampleRate);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+    
+    private static final class SlowQueryListener implements QueryExecutionListener {
+        
+        private final DefaultQueryLogEntryCreator logEntryCreator = new DefaultQueryLogEntryCreator();
+        private final long thresholdMillis;
+        private final double sampleRate;
+        
+        SlowQueryListener(long thresholdMillis, double sampleRate) {
+            this.thresholdMillis = thresholdMillis;
+            this.sampleRate = sampleRate;
+        }
+        
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+        
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            // Cheap checks first: the common fast statement costs one comparison
+            if (execInfo.getElapsedTime() < thresholdMillis || !log.isWarnEnabled()) {
+                return;
+            }
+            if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                return;
+            }
+            log.warn("Slow query: {}", logEntryCreator.getLogEntry(execInfo, queryInfoList, false, true, false));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.avi.leavemgmt.controller;
+
+import com.avi.leavemgmt.dto.LeaveUsageDTO;
+import com.avi.leavemgmt.model.LeaveType;
+import com.avi.leavemgmt.service.LeaveAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Leave Analytics", description = "APIs for leave usage reports")
+public class AnalyticsController {
+    
+    private final LeaveAnalyticsService leaveAnalyticsService;
+    
+    @Autowired
+    public AnalyticsController(LeaveAnalyticsService leaveAnalyticsService) {
+        this.leaveAnalyticsService = leaveAnalyticsService;
+    }
+    
+    @GetMapping("/leave-usage")
+    @Operation(summary = "Get leave usage", description = "Working days taken (approved) and pending per department, leave type and month")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved leave usage")
+    public ResponseEntity<List<LeaveUsageDTO>> getLeaveUsage(
+            @Parameter(description = "Only this department") @RequestParam(required = false) String department,
+            @Parameter(description = "Only this leave type") @RequestParam(required = false) LeaveType leaveType,
+            @Parameter(description = "First month (yyyy-MM)") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @Parameter(description = "Last month (yyyy-MM)") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        List<LeaveUsageDTO> usage = leaveAnalyticsService.getUsage(department, leaveType, from, to);
+        return ResponseEntity.ok(usage);
+    }
+    
+    @PostMapping("/leave-usage/rebuild")
+    @Operation(summary = "Rebuild leave usage", description = "Recompute the leave usage counters from the database")
+    @ApiResponse(responseCode = "200", description = "Leave usage rebuilt")
+    public ResponseEntity<?> rebuildLeaveUsage() {
+        leaveAnalyticsService.rebuild();
+        return ResponseEntity.ok(Map.of("message", "Leave usage rebuilt"));
+    }
+}
\ No newline at end of file
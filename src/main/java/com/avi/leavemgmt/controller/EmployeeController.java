@@ -1,8 +1,12 @@
 package com.avi.leavemgmt.controller;
 
 import com.avi.leavemgmt.dto.EmployeeDTO;
+import com.avi.leavemgmt.dto.OrgNodeDTO;
 import com.avi.leavemgmt.service.EmployeeService;
 import com.avi.leavemgmt.repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,9 +15,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,21 +30,62 @@ import java.util.Optional;
 @Tag(name = "Employee Management", description = "APIs for managing employees")
 public class EmployeeController {
     
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final int DEFAULT_ORG_DEPTH = 1;
+    private static final int MAX_ORG_DEPTH = 20;
+    
     private final EmployeeService employeeService;
     private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public EmployeeController(EmployeeService employeeService, EmployeeRepository employeeRepository) {
+    public EmployeeController(EmployeeService employeeService, EmployeeRepository employeeRepository,
+                              ObjectMapper objectMapper) {
         this.employeeService = employeeService;
         this.employeeRepository = employeeRepository;
+        this.objectMapper = objectMapper;
     }
     
     @GetMapping
-    @Operation(summary = "Get all employees", description = "Retrieve a list of all employees")
+    @Operation(summary = "Get all employees", description = "Retrieve a list of all employees, or a keyset page when 'after' or 'limit' is given. " +
+            "Paged responses carry an X-Next-Cursor header while more results may follow.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved employees")
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
-        List<EmployeeDTO> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployees(
+            @Parameter(description = "Return only employees with an ID greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of employees to return (1-" + MAX_PAGE_SIZE + ")") @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            List<EmployeeDTO> employees = employeeService.getAllEmployees();
+            return ResponseEntity.ok(employees);
+        }
+        
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<EmployeeDTO> employees = employeeService.getEmployeesPage(after, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (employees.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(employees.get(employees.size() - 1).getId()));
+        }
+        return response.body(employees);
+    }
+    
+    @GetMapping(value = "/stream", produces = NDJSON_MEDIA_TYPE)
+    @Operation(summary = "Stream all employees", description = "Stream every employee as newline-delimited JSON without loading the whole table into memory")
+    @ApiResponse(responseCode = "200", description = "Employees streamed successfully")
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = outputStream -> employeeService.streamEmployees(employee -> {
+            try {
+                writer.writeValue(outputStream, employee);
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
     }
     
     @GetMapping("/{id}")
@@ -61,36 +110,23 @@ public class EmployeeController {
     })
     public ResponseEntity<EmployeeDTO> createEmployee(
             @Parameter(description = "Employee data", required = true) @Valid @RequestBody EmployeeDTO employeeDTO) {
-        try {
-            EmployeeDTO createdEmployee = employeeService.createEmployee(employeeDTO);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
-        }
+        EmployeeDTO createdEmployee = employeeService.createEmployee(employeeDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
     }
     
     @PutMapping("/{id}")
-    @Operation(summary = "Update employee", description = "Update an existing employee record")
+    @Operation(summary = "Update employee", description = "Update an existing employee record; the body must carry the version it was read at")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
             @ApiResponse(responseCode = "404", description = "Employee not found"),
-            @ApiResponse(responseCode = "409", description = "Email already exists")
+            @ApiResponse(responseCode = "409", description = "Email already exists or employee was modified concurrently")
     })
     public ResponseEntity<EmployeeDTO> updateEmployee(
             @Parameter(description = "Employee ID", required = true) @PathVariable Long id,
             @Parameter(description = "Updated employee data", required = true) @Valid @RequestBody EmployeeDTO employeeDTO) {
-        try {
-            EmployeeDTO updatedEmployee = employeeService.updateEmployee(id, employeeDTO);
-            return ResponseEntity.ok(updatedEmployee);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.notFound().build();
-            } else if (e.getMessage().contains("already exists")) {
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
-            }
-            return ResponseEntity.badRequest().build();
-        }
+        EmployeeDTO updatedEmployee = employeeService.updateEmployee(id, employeeDTO);
+        return ResponseEntity.ok(updatedEmployee);
     }
     
     @DeleteMapping("/{id}")
@@ -101,12 +137,8 @@ public class EmployeeController {
     })
     public ResponseEntity<Void> deleteEmployee(
             @Parameter(description = "Employee ID", required = true) @PathVariable Long id) {
-        try {
-            employeeService.deleteEmployee(id);
-            return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+        employeeService.deleteEmployee(id);
+        return ResponseEntity.noContent().build();
     }
     
     @GetMapping("/department/{department}")
@@ -124,6 +156,19 @@ public class EmployeeController {
         List<EmployeeDTO> teamMembers = employeeService.getTeamMembers(managerId);
         return ResponseEntity.ok(teamMembers);
     }
+    
+    @GetMapping("/{id}/org")
+    @Operation(summary = "Get org chart", description = "Retrieve an employee with everyone below them in the reporting tree, down to 'depth' levels")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Org chart retrieved"),
+            @ApiResponse(responseCode = "404", description = "Employee not found")
+    })
+    public ResponseEntity<OrgNodeDTO> getOrgChart(
+            @Parameter(description = "Employee ID", required = true) @PathVariable Long id,
+            @Parameter(description = "Levels of reports to include (1-" + MAX_ORG_DEPTH + ")") @RequestParam(required = false) Integer depth) {
+        int levels = depth == null ? DEFAULT_ORG_DEPTH : Math.max(1, Math.min(depth, MAX_ORG_DEPTH));
+        return ResponseEntity.ok(employeeService.getOrgChart(id, levels));
+    }
 
     @GetMapping("/{id}/leave-balance")
     @Operation(summary = "Get leave balance", description = "Retrieve annual leave balance for an employee")
@@ -0,0 +1,82 @@
+package com.avi.leavemgmt.controller;
+
+import com.avi.leavemgmt.exception.BusinessRuleException;
+import com.avi.leavemgmt.exception.DuplicateResourceException;
+import com.avi.leavemgmt.exception.ForbiddenOperationException;
+import com.avi.leavemgmt.exception.ResourceNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+/**
+ * Maps exceptions to RFC 7807 {@code application/problem+json} responses. The status comes from
+ * the exception type, never from its message. Every problem also carries the message in an
+ * {@code error} property, the field clients read before problem details were introduced.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    
+    private static final String ERROR_PROPERTY = "error";
+    
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ProblemDetail handleNotFound(ResourceNotFoundException e) {
+        return problem(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+    
+    @ExceptionHandler(BusinessRuleException.class)
+    public ProblemDetail handleBusinessRule(BusinessRuleException e) {
+        return problem(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+    
+    @ExceptionHandler(ForbiddenOperationException.class)
+    public ProblemDetail handleForbidden(ForbiddenOperationException e) {
+        return problem(HttpStatus.FORBIDDEN, e.getMessage());
+    }
+    
+    @ExceptionHandler(DuplicateResourceException.class)
+    public ProblemDetail handleDuplicate(DuplicateResourceException e) {
+        return problem(HttpStatus.CONFLICT, e.getMessage());
+    }
+    
+    // Thrown once the @Retryable attempts on the approval paths are used up
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLock(OptimisticLockingFailureException e) {
+        return problem(HttpStatus.CONFLICT, "The data was modified concurrently, please retry");
+    }
+    
+    // Bean validation failures on @Valid request bodies report the first field error, like batch items do
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers,
+                                                                  HttpStatusCode status, WebRequest request) {
+        FieldError fieldError = ex.getBindingResult().getFieldError();
+        String message = fieldError != null ? fieldError.getDefaultMessage() : "Invalid request content";
+        ex.getBody().setDetail(message);
+        return handleExceptionInternal(ex, null, headers, status, request);
+    }
+    
+    // Framework exceptions (unreadable bodies, type mismatches, ...) get the error property too
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex, Object body, HttpHeaders headers,
+                                                             HttpStatusCode statusCode, WebRequest request) {
+        ResponseEntity<Object> response = super.handleExceptionInternal(ex, body, headers, statusCode, request);
+        if (response != null && response.getBody() instanceof ProblemDetail problem) {
+            problem.setProperty(ERROR_PROPERTY, problem.getDetail());
+        }
+        return response;
+    }
+    
+    private static ProblemDetail problem(HttpStatus status, String message) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, message);
+        problem.setProperty(ERROR_PROPERTY, message);
+        return problem;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.avi.leavemgmt.controller;
+
+import com.avi.leavemgmt.dto.JobRunDTO;
+import com.avi.leavemgmt.dto.RolloverPreviewDTO;
+import com.avi.leavemgmt.service.LeaveAccrualJob;
+import com.avi.leavemgmt.service.YearEndRolloverJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Year;
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/jobs")
+@Tag(name = "Batch Jobs", description = "APIs for running and inspecting batch jobs")
+public class JobController {
+    
+    private final LeaveAccrualJob leaveAccrualJob;
+    private final YearEndRolloverJob yearEndRolloverJob;
+    
+    @Autowired
+    public JobController(LeaveAccrualJob leaveAccrualJob, YearEndRolloverJob yearEndRolloverJob) {
+        this.leaveAccrualJob = leaveAccrualJob;
+        this.yearEndRolloverJob = yearEndRolloverJob;
+    }
+    
+    @PostMapping("/accrual")
+    @Operation(summary = "Run leave accrual", description = "Credit the monthly leave accrual for a month that has ended. " +
+            "Resumes an interrupted run and does nothing for a month that was already completed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Accrual completed"),
+            @ApiResponse(responseCode = "400", description = "Month has not ended, predates every employee or precedes the first accrual"),
+            @ApiResponse(responseCode = "409", description = "Accrual for the month is running elsewhere")
+    })
+    public ResponseEntity<JobRunDTO> runAccrual(
+            @Parameter(description = "Month to accrue (yyyy-MM), the previous month by default")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth period) {
+        JobRunDTO run = leaveAccrualJob.accrue(period != null ? period : YearMonth.now().minusMonths(1));
+        return ResponseEntity.ok(run);
+    }
+    
+    @GetMapping("/accrual/{period}")
+    @Operation(summary = "Get leave accrual run", description = "Progress of the leave accrual for a month")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Accrual run found"),
+            @ApiResponse(responseCode = "404", description = "No accrual run for the month")
+    })
+    public ResponseEntity<JobRunDTO> getAccrualRun(
+            @Parameter(description = "Month (yyyy-MM)", required = true)
+            @PathVariable @DateTimeFormat(pattern = "yyyy-MM") YearMonth period) {
+        return ResponseEntity.ok(leaveAccrualJob.getRun(period));
+    }
+    
+    @PostMapping("/rollover")
+    @Operation(summary = "Run year-end rollover", description = "Cap carried-forward balances, add the new year's " +
+            "entitlement and expire pending requests of a year that has ended. Resumes an interrupted run and does " +
+            "nothing for a year that was already completed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rollover completed"),
+            @ApiResponse(responseCode = "400", description = "Year has not ended, predates every employee or the first rollover, or December's accrual has not completed"),
+            @ApiResponse(responseCode = "409", description = "Rollover for the year is running elsewhere")
+    })
+    public ResponseEntity<JobRunDTO> runRollover(
+            @Parameter(description = "Year to roll over (yyyy), the previous year by default")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy") Year year) {
+        JobRunDTO run = yearEndRolloverJob.rollOver(year != null ? year : Year.now().minusYears(1));
+        return ResponseEntity.ok(run);
+    }
+    
+    @GetMapping("/rollover/{year}")
+    @Operation(summary = "Get year-end rollover run", description = "Progress of the year-end rollover, summed over its partitions")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rollover run found"),
+            @ApiResponse(responseCode = "404", description = "No rollover run for the year")
+    })
+    public ResponseEntity<JobRunDTO> getRolloverRun(
+            @Parameter(description = "Year (yyyy)", required = true)
+            @PathVariable @DateTimeFormat(pattern = "yyyy") Year year) {
+        return ResponseEntity.ok(yearEndRolloverJob.getRun(year));
+    }
+    
+    @GetMapping("/rollover/{year}/preview")
+    @Operation(summary = "Preview year-end rollover", description = "Dry run: the balance changes and expiries the " +
+            "rollover would apply, without writing anything")
+    public ResponseEntity<RolloverPreviewDTO> previewRollover(
+            @Parameter(description = "Year (yyyy)", required = true)
+            @PathVariable @DateTimeFormat(pattern = "yyyy") Year year) {
+        return ResponseEntity.ok(yearEndRolloverJob.preview(year));
+    }
+}
\ No newline at end of file
@@ -1,7 +1,15 @@
 package com.avi.leavemgmt.controller;
 
+import com.avi.leavemgmt.dto.BatchDecisionDTO;
+import com.avi.leavemgmt.dto.BatchItemResultDTO;
+import com.avi.leavemgmt.dto.LeaveDecisionDTO;
 import com.avi.leavemgmt.dto.LeaveRequestDTO;
+import com.avi.leavemgmt.dto.TeamCalendarDayDTO;
+import com.avi.leavemgmt.service.LeaveEventFeed;
 import com.avi.leavemgmt.service.LeaveRequestService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,12 +17,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -22,19 +36,59 @@ import java.util.Optional;
 @Tag(name = "Leave Request Management", description = "APIs for managing leave requests")
 public class LeaveRequestController {
     
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    
     private final LeaveRequestService leaveRequestService;
+    private final LeaveEventFeed leaveEventFeed;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public LeaveRequestController(LeaveRequestService leaveRequestService) {
+    public LeaveRequestController(LeaveRequestService leaveRequestService, LeaveEventFeed leaveEventFeed, ObjectMapper objectMapper) {
         this.leaveRequestService = leaveRequestService;
+        this.leaveEventFeed = leaveEventFeed;
+        this.objectMapper = objectMapper;
     }
     
     @GetMapping
-    @Operation(summary = "Get all leave requests", description = "Retrieve a list of all leave requests")
+    @Operation(summary = "Get all leave requests", description = "Retrieve a list of all leave requests, or a keyset page when 'after' or 'limit' is given. " +
+            "Paged responses carry an X-Next-Cursor header while more results may follow.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved leave requests")
-    public ResponseEntity<List<LeaveRequestDTO>> getAllLeaveRequests() {
-        List<LeaveRequestDTO> leaveRequests = leaveRequestService.getAllLeaveRequests();
-        return ResponseEntity.ok(leaveRequests);
+    public ResponseEntity<List<LeaveRequestDTO>> getAllLeaveRequests(
+            @Parameter(description = "Return only leave requests with an ID greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of leave requests to return (1-" + MAX_PAGE_SIZE + ")") @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            List<LeaveRequestDTO> leaveRequests = leaveRequestService.getAllLeaveRequests();
+            return ResponseEntity.ok(leaveRequests);
+        }
+        
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<LeaveRequestDTO> leaveRequests = leaveRequestService.getLeaveRequestsPage(after, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (leaveRequests.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(leaveRequests.get(leaveRequests.size() - 1).getId()));
+        }
+        return response.body(leaveRequests);
+    }
+    
+    @GetMapping(value = "/stream", produces = NDJSON_MEDIA_TYPE)
+    @Operation(summary = "Stream all leave requests", description = "Stream every leave request as newline-delimited JSON without loading the whole table into memory")
+    @ApiResponse(responseCode = "200", description = "Leave requests streamed successfully")
+    public ResponseEntity<StreamingResponseBody> streamLeaveRequests() {
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = outputStream -> leaveRequestService.streamLeaveRequests(leaveRequest -> {
+            try {
+                writer.writeValue(outputStream, leaveRequest);
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
     }
     
     @GetMapping("/{id}")
@@ -65,14 +119,23 @@ public class LeaveRequestController {
             @ApiResponse(responseCode = "400", description = "Invalid input data or business rule violation"),
             @ApiResponse(responseCode = "404", description = "Employee not found")
     })
-    public ResponseEntity<?> submitLeaveRequest(
+    public ResponseEntity<LeaveRequestDTO> submitLeaveRequest(
             @Parameter(description = "Leave request data", required = true) @Valid @RequestBody LeaveRequestDTO leaveRequestDTO) {
-        try {
-            LeaveRequestDTO createdRequest = leaveRequestService.submitLeaveRequest(leaveRequestDTO);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdRequest);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        }
+        LeaveRequestDTO createdRequest = leaveRequestService.submitLeaveRequest(leaveRequestDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdRequest);
+    }
+    
+    @PostMapping("/batch")
+    @Operation(summary = "Submit leave requests in bulk", description = "Validate and submit many leave requests at once. " +
+            "Each item is accepted or rejected on its own; the response lists the outcome per item in request order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Batch is too large")
+    })
+    public ResponseEntity<List<BatchItemResultDTO>> submitLeaveRequestBatch(
+            @Parameter(description = "Leave requests to submit", required = true) @RequestBody List<LeaveRequestDTO> leaveRequestDTOs) {
+        List<BatchItemResultDTO> results = leaveRequestService.submitLeaveRequests(leaveRequestDTOs);
+        return ResponseEntity.ok(results);
     }
     
     @PutMapping("/{id}/approve")
@@ -81,25 +144,15 @@ public class LeaveRequestController {
             @ApiResponse(responseCode = "200", description = "Leave request approved successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request or business rule violation"),
             @ApiResponse(responseCode = "404", description = "Leave request not found"),
-            @ApiResponse(responseCode = "403", description = "Manager does not have authority to approve")
+            @ApiResponse(responseCode = "403", description = "Manager does not have authority to approve"),
+            @ApiResponse(responseCode = "409", description = "Leave request or employee was modified concurrently")
     })
-    public ResponseEntity<?> approveLeaveRequest(
+    public ResponseEntity<LeaveRequestDTO> approveLeaveRequest(
             @Parameter(description = "Leave request ID", required = true) @PathVariable Long id,
-            @Parameter(description = "Approval data", required = true) @RequestBody Map<String, Object> approvalData) {
-        try {
-            Long managerId = Long.valueOf(approvalData.get("managerId").toString());
-            String comments = (String) approvalData.getOrDefault("comments", "");
-            
-            LeaveRequestDTO approvedRequest = leaveRequestService.approveLeaveRequest(id, managerId, comments);
-            return ResponseEntity.ok(approvedRequest);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.notFound().build();
-            } else if (e.getMessage().contains("authority")) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
-            }
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        }
+            @Parameter(description = "Deciding manager and comments", required = true) @Valid @RequestBody LeaveDecisionDTO leaveDecisionDTO) {
+        LeaveRequestDTO approvedRequest = leaveRequestService.approveLeaveRequest(
+                id, leaveDecisionDTO.managerId(), leaveDecisionDTO.comments());
+        return ResponseEntity.ok(approvedRequest);
     }
     
     @PutMapping("/{id}/reject")
@@ -108,32 +161,86 @@ public class LeaveRequestController {
             @ApiResponse(responseCode = "200", description = "Leave request rejected successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request or business rule violation"),
             @ApiResponse(responseCode = "404", description = "Leave request not found"),
-            @ApiResponse(responseCode = "403", description = "Manager does not have authority to reject")
+            @ApiResponse(responseCode = "403", description = "Manager does not have authority to reject"),
+            @ApiResponse(responseCode = "409", description = "Leave request was modified concurrently")
     })
-    public ResponseEntity<?> rejectLeaveRequest(
+    public ResponseEntity<LeaveRequestDTO> rejectLeaveRequest(
             @Parameter(description = "Leave request ID", required = true) @PathVariable Long id,
-            @Parameter(description = "Rejection data", required = true) @RequestBody Map<String, Object> rejectionData) {
-        try {
-            Long managerId = Long.valueOf(rejectionData.get("managerId").toString());
-            String comments = (String) rejectionData.getOrDefault("comments", "");
-            
-            LeaveRequestDTO rejectedRequest = leaveRequestService.rejectLeaveRequest(id, managerId, comments);
-            return ResponseEntity.ok(rejectedRequest);
-        } catch (RuntimeException e) {
-            if (e.getMessage().contains("not found")) {
-                return ResponseEntity.notFound().build();
-            } else if (e.getMessage().contains("authority")) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
-            }
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        }
+            @Parameter(description = "Deciding manager and comments", required = true) @Valid @RequestBody LeaveDecisionDTO leaveDecisionDTO) {
+        LeaveRequestDTO rejectedRequest = leaveRequestService.rejectLeaveRequest(
+                id, leaveDecisionDTO.managerId(), leaveDecisionDTO.comments());
+        return ResponseEntity.ok(rejectedRequest);
+    }
+    
+    @PutMapping("/approve-batch")
+    @Operation(summary = "Approve leave requests in bulk", description = "Approve many pending leave requests in one transaction. " +
+            "Each item succeeds or fails on its own; the response lists the outcome per ID in request order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or batch is too large"),
+            @ApiResponse(responseCode = "409", description = "Leave requests or employees were modified concurrently")
+    })
+    public ResponseEntity<List<BatchItemResultDTO>> approveLeaveRequestBatch(
+            @Parameter(description = "Manager, leave request IDs and comments", required = true) @Valid @RequestBody BatchDecisionDTO batchDecisionDTO) {
+        List<BatchItemResultDTO> results = leaveRequestService.approveLeaveRequests(
+                batchDecisionDTO.getLeaveRequestIds(), batchDecisionDTO.getManagerId(), batchDecisionDTO.getComments());
+        return ResponseEntity.ok(results);
+    }
+    
+    @PutMapping("/reject-batch")
+    @Operation(summary = "Reject leave requests in bulk", description = "Reject many pending leave requests in one transaction. " +
+            "Each item succeeds or fails on its own; the response lists the outcome per ID in request order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or batch is too large"),
+            @ApiResponse(responseCode = "409", description = "Leave requests were modified concurrently")
+    })
+    public ResponseEntity<List<BatchItemResultDTO>> rejectLeaveRequestBatch(
+            @Parameter(description = "Manager, leave request IDs and comments", required = true) @Valid @RequestBody BatchDecisionDTO batchDecisionDTO) {
+        List<BatchItemResultDTO> results = leaveRequestService.rejectLeaveRequests(
+                batchDecisionDTO.getLeaveRequestIds(), batchDecisionDTO.getManagerId(), batchDecisionDTO.getComments());
+        return ResponseEntity.ok(results);
     }
     
     @GetMapping("/manager/{managerId}")
-    @Operation(summary = "Get leave requests for manager", description = "Retrieve leave requests for team members of a specific manager")
+    @Operation(summary = "Get leave requests for manager", description = "Retrieve leave requests for team members of a specific manager, " +
+            "or with transitive=true for everyone below them in the org tree")
     public ResponseEntity<List<LeaveRequestDTO>> getLeaveRequestsForManager(
-            @Parameter(description = "Manager ID", required = true) @PathVariable Long managerId) {
-        List<LeaveRequestDTO> leaveRequests = leaveRequestService.getLeaveRequestsForManager(managerId);
+            @Parameter(description = "Manager ID", required = true) @PathVariable Long managerId,
+            @Parameter(description = "Include indirect reports") @RequestParam(defaultValue = "false") boolean transitive) {
+        List<LeaveRequestDTO> leaveRequests = transitive
+                ? leaveRequestService.getLeaveRequestsForOrg(managerId)
+                : leaveRequestService.getLeaveRequestsForManager(managerId);
         return ResponseEntity.ok(leaveRequests);
     }
+    
+    @GetMapping(value = "/manager/{managerId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to pending approvals", description = "Server-Sent Events feed for a manager: a 'snapshot' event with the pending requests " +
+            "of their team (or whole org with transitive=true), then LEAVE_SUBMITTED, LEAVE_APPROVED, LEAVE_REJECTED and LEAVE_EXPIRED events as they commit. " +
+            "Upsert by leaveRequestId; reconnect for a fresh snapshot when the stream ends.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Feed opened"),
+        @ApiResponse(responseCode = "404", description = "Manager not found")
+    })
+    public SseEmitter subscribeToPendingApprovals(
+            @Parameter(description = "Manager ID", required = true) @PathVariable Long managerId,
+            @Parameter(description = "Include indirect reports") @RequestParam(defaultValue = "false") boolean transitive) {
+        return leaveEventFeed.subscribe(managerId, transitive);
+    }
+    
+    @GetMapping("/manager/{managerId}/calendar")
+    @Operation(summary = "Get team calendar", description = "Per-day approved and pending absences of a manager's team between two dates (inclusive)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Team calendar retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<TeamCalendarDayDTO>> getTeamCalendar(
+            @Parameter(description = "Manager ID", required = true) @PathVariable Long managerId,
+            @Parameter(description = "First day (yyyy-MM-dd)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (yyyy-MM-dd)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<TeamCalendarDayDTO> calendar = leaveRequestService.getTeamCalendar(managerId, from, to);
+        return ResponseEntity.ok(calendar);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.avi.leavemgmt.dto;
+
+public class BalanceChangeDTO {
+    
+    private Long employeeId;
+    private int currentBalance;
+    private int projectedBalance;
+    private long requestsToExpire;
+    
+    // Constructors
+    public BalanceChangeDTO() {
+    }
+    
+    public BalanceChangeDTO(Long employeeId, int currentBalance, int projectedBalance, long requestsToExpire) {
+        this.employeeId = employeeId;
+        this.currentBalance = currentBalance;
+        this.projectedBalance = projectedBalance;
+        this.requestsToExpire = requestsToExpire;
+    }
+    
+    // Getters and Setters
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public int getCurrentBalance() {
+        return currentBalance;
+    }
+    
+    public void setCurrentBalance(int currentBalance) {
+        this.currentBalance = currentBalance;
+    }
+    
+    public int getProjectedBalance() {
+        return projectedBalance;
+    }
+    
+    public void setProjectedBalance(int projectedBalance) {
+        this.projectedBalance = projectedBalance;
+    }
+    
+    public long getRequestsToExpire() {
+        return requestsToExpire;
+    }
+    
+    public void setRequestsToExpire(long requestsToExpire) {
+        this.requestsToExpire = requestsToExpire;
+    }
+}
\ No newline at end of file
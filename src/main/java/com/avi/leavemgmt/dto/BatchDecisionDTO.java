@@ -0,0 +1,48 @@
+package com.avi.leavemgmt.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchDecisionDTO {
+    
+    @NotNull(message = "Manager ID is required")
+    private Long managerId;
+    
+    @NotEmpty(message = "At least one leave request ID is required")
+    private List<@NotNull(message = "Leave request IDs cannot be null") Long> leaveRequestIds;
+    
+    @Size(max = 255, message = "Comments cannot exceed 255 characters")
+    private String comments;
+    
+    // Constructors
+    public BatchDecisionDTO() {
+    }
+    
+    // Getters and Setters
+    public Long getManagerId() {
+        return managerId;
+    }
+    
+    public void setManagerId(Long managerId) {
+        this.managerId = managerId;
+    }
+    
+    public List<Long> getLeaveRequestIds() {
+        return leaveRequestIds;
+    }
+    
+    public void setLeaveRequestIds(List<Long> leaveRequestIds) {
+        this.leaveRequestIds = leaveRequestIds;
+    }
+    
+    public String getComments() {
+        return comments;
+    }
+    
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.avi.leavemgmt.dto;
+
+public class BatchItemResultDTO {
+    
+    private int index;
+    private Long id;
+    private boolean success;
+    private String error;
+    private LeaveRequestDTO leaveRequest;
+    
+    // Constructors
+    public BatchItemResultDTO() {
+    }
+    
+    public static BatchItemResultDTO success(int index, LeaveRequestDTO leaveRequest) {
+        BatchItemResultDTO result = new BatchItemResultDTO();
+        result.setIndex(index);
+        result.setId(leaveRequest.getId());
+        result.setSuccess(true);
+        result.setLeaveRequest(leaveRequest);
+        return result;
+    }
+    
+    public static BatchItemResultDTO failure(int index, Long id, String error) {
+        BatchItemResultDTO result = new BatchItemResultDTO();
+        result.setIndex(index);
+        result.setId(id);
+        result.setSuccess(false);
+        result.setError(error);
+        return result;
+    }
+    
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+    
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public boolean isSuccess() {
+        return success;
+    }
+    
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    public LeaveRequestDTO getLeaveRequest() {
+        return leaveRequest;
+    }
+    
+    public void setLeaveRequest(LeaveRequestDTO leaveRequest) {
+        this.leaveRequest = leaveRequest;
+    }
+}
\ No newline at end of file
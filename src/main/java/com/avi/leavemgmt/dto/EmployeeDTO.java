@@ -38,6 +38,9 @@ public class EmployeeDTO {
     @Min(value = 0, message = "Annual leave balance cannot be negative")
     private Integer annualLeaveBalance;
     
+    // Optimistic lock version; updates must send back the one they read
+    private Long version;
+    
     // Constructors
     public EmployeeDTO() {
     }
@@ -51,6 +54,16 @@ public class EmployeeDTO {
         this.managerId = managerId;
     }
     
+    // Used by JPQL constructor expressions in EmployeeRepository
+    public EmployeeDTO(Long id, String name, String email, String department, String role, Long managerId,
+                       String managerName, LocalDate joiningDate, Integer annualLeaveBalance, Long version) {
+        this(id, name, email, department, role, managerId);
+        this.managerName = managerName;
+        this.joiningDate = joiningDate;
+        this.annualLeaveBalance = annualLeaveBalance;
+        this.version = version;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -123,4 +136,12 @@ public class EmployeeDTO {
     public void setAnnualLeaveBalance(Integer annualLeaveBalance) {
         this.annualLeaveBalance = annualLeaveBalance;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.avi.leavemgmt.dto;
+
+public class JobRunDTO {
+    
+    private String jobName;
+    private String period;
+    private String status;
+    private long rowsProcessed;
+    private long totalRowsProcessed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    
+    // Constructors
+    public JobRunDTO() {
+    }
+    
+    public JobRunDTO(String jobName, String period, String status, long rowsProcessed, long totalRowsProcessed,
+                     long elapsedNanos) {
+        this.jobName = jobName;
+        this.period = period;
+        this.status = status;
+        this.rowsProcessed = rowsProcessed;
+        this.totalRowsProcessed = totalRowsProcessed;
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = elapsedNanos > 0 ? rowsProcessed * 1e9 / elapsedNanos : 0;
+    }
+    
+    // Getters and Setters
+    public String getJobName() {
+        return jobName;
+    }
+    
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+    
+    public String getPeriod() {
+        return period;
+    }
+    
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public long getRowsProcessed() {
+        return rowsProcessed;
+    }
+    
+    public void setRowsProcessed(long rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+    
+    public long getTotalRowsProcessed() {
+        return totalRowsProcessed;
+    }
+    
+    public void setTotalRowsProcessed(long totalRowsProcessed) {
+        this.totalRowsProcessed = totalRowsProcessed;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+    
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
\ No newline at end of file
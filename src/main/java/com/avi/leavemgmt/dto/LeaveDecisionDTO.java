@@ -0,0 +1,20 @@
+package com.avi.leavemgmt.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Body of a single approve or reject call. Comments are optional and stored as an empty string
+ * when left out.
+ */
+public record LeaveDecisionDTO(
+        @NotNull(message = "Manager ID is required")
+        Long managerId,
+        
+        @Size(max = 255, message = "Comments cannot exceed 255 characters")
+        String comments) {
+    
+    public LeaveDecisionDTO {
+        comments = comments != null ? comments : "";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.avi.leavemgmt.dto;
+
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.model.LeaveType;
+import com.avi.leavemgmt.model.OutboxEvent;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Body of a leave lifecycle event as delivered to the outbox sinks. Delivery is at least once;
+ * a request is submitted and decided only once, so {@code leaveRequestId} and {@code eventType}
+ * identify a redelivery. {@code employeeSequence} numbers each employee's events in commit order
+ * without gaps, so a consumer can also spot a missing or reordered event.
+ */
+public class LeaveEventDTO {
+    
+    private OutboxEvent.EventType eventType;
+    private LocalDateTime occurredAt;
+    private Long leaveRequestId;
+    private Long employeeId;
+    private Long employeeSequence;
+    private LeaveType leaveType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LeaveRequest.LeaveStatus status;
+    private Long decidedBy;
+    private String comments;
+    
+    // Constructors
+    public LeaveEventDTO() {
+    }
+    
+    public LeaveEventDTO(OutboxEvent event, LeaveRequest leaveRequest) {
+        this.eventType = event.getEventType();
+        this.occurredAt = event.getCreatedAt();
+        this.leaveRequestId = leaveRequest.getId();
+        this.employeeId = leaveRequest.getEmployeeId();
+        this.leaveType = leaveRequest.getLeaveType();
+        this.startDate = leaveRequest.getStartDate();
+        this.endDate = leaveRequest.getEndDate();
+        this.status = leaveRequest.getStatus();
+        this.decidedBy = leaveRequest.getApprovedBy();
+        this.comments = leaveRequest.getComments();
+    }
+    
+    // Getters and Setters
+    public OutboxEvent.EventType getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(OutboxEvent.EventType eventType) {
+        this.eventType = eventType;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+    
+    public Long getLeaveRequestId() {
+        return leaveRequestId;
+    }
+    
+    public void setLeaveRequestId(Long leaveRequestId) {
+        this.leaveRequestId = leaveRequestId;
+    }
+    
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public Long getEmployeeSequence() {
+        return employeeSequence;
+    }
+    
+    public void setEmployeeSequence(Long employeeSequence) {
+        this.employeeSequence = employeeSequence;
+    }
+    
+    public LeaveType getLeaveType() {
+        return leaveType;
+    }
+    
+    public void setLeaveType(LeaveType leaveType) {
+        this.leaveType = leaveType;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public LeaveRequest.LeaveStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(LeaveRequest.LeaveStatus status) {
+        this.status = status;
+    }
+    
+    public Long getDecidedBy() {
+        return decidedBy;
+    }
+    
+    public void setDecidedBy(Long decidedBy) {
+        this.decidedBy = decidedBy;
+    }
+    
+    public String getComments() {
+        return comments;
+    }
+    
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+}
\ No newline at end of file
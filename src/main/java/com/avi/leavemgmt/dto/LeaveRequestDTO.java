@@ -55,6 +55,20 @@ public class LeaveRequestDTO {
         this.status = status;
     }
     
+    // Used by JPQL constructor expressions in LeaveRequestRepository
+    public LeaveRequestDTO(Long id, Long employeeId, String employeeName, LeaveType leaveType,
+                          LocalDate startDate, LocalDate endDate, String reason,
+                          LeaveRequest.LeaveStatus status, LocalDate appliedDate, Long approvedBy,
+                          String approvedByName, LocalDate approvedDate, String comments) {
+        this(id, employeeId, leaveType, startDate, endDate, reason, status);
+        this.employeeName = employeeName;
+        this.appliedDate = appliedDate;
+        this.approvedBy = approvedBy;
+        this.approvedByName = approvedByName;
+        this.approvedDate = approvedDate;
+        this.comments = comments;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,67 @@
+package com.avi.leavemgmt.dto;
+
+import com.avi.leavemgmt.model.LeaveType;
+
+import java.time.YearMonth;
+
+public class LeaveUsageDTO {
+    
+    private String department;
+    private LeaveType leaveType;
+    private YearMonth month;
+    private long takenDays;
+    private long pendingDays;
+    
+    // Constructors
+    public LeaveUsageDTO() {
+    }
+    
+    public LeaveUsageDTO(String department, LeaveType leaveType, YearMonth month, long takenDays, long pendingDays) {
+        this.department = department;
+        this.leaveType = leaveType;
+        this.month = month;
+        this.takenDays = takenDays;
+        this.pendingDays = pendingDays;
+    }
+    
+    // Getters and Setters
+    public String getDepartment() {
+        return department;
+    }
+    
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+    
+    public LeaveType getLeaveType() {
+        return leaveType;
+    }
+    
+    public void setLeaveType(LeaveType leaveType) {
+        this.leaveType = leaveType;
+    }
+    
+    public YearMonth getMonth() {
+        return month;
+    }
+    
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+    
+    public long getTakenDays() {
+        return takenDays;
+    }
+    
+    public void setTakenDays(long takenDays) {
+        this.takenDays = takenDays;
+    }
+    
+    public long getPendingDays() {
+        return pendingDays;
+    }
+    
+    public void setPendingDays(long pendingDays) {
+        this.pendingDays = pendingDays;
+    }
+}
\ No newline at end of file
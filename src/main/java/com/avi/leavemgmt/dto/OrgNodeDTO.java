@@ -0,0 +1,85 @@
+package com.avi.leavemgmt.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrgNodeDTO {
+    
+    private Long id;
+    private String name;
+    private String email;
+    private String department;
+    private String role;
+    private Long managerId;
+    private List<OrgNodeDTO> directReports = new ArrayList<>();
+    
+    // Constructors
+    public OrgNodeDTO() {
+    }
+    
+    public OrgNodeDTO(EmployeeDTO employee) {
+        this.id = employee.getId();
+        this.name = employee.getName();
+        this.email = employee.getEmail();
+        this.department = employee.getDepartment();
+        this.role = employee.getRole();
+        this.managerId = employee.getManagerId();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+    
+    public String getRole() {
+        return role;
+    }
+    
+    public void setRole(String role) {
+        this.role = role;
+    }
+    
+    public Long getManagerId() {
+        return managerId;
+    }
+    
+    public void setManagerId(Long managerId) {
+        this.managerId = managerId;
+    }
+    
+    public List<OrgNodeDTO> getDirectReports() {
+        return directReports;
+    }
+    
+    public void setDirectReports(List<OrgNodeDTO> directReports) {
+        this.directReports = directReports;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.avi.leavemgmt.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RolloverPreviewDTO {
+    
+    private String year;
+    private int employeesChanged;
+    private long daysForfeited;
+    private long daysGranted;
+    private long requestsToExpire;
+    private long elapsedMillis;
+    private List<BalanceChangeDTO> changes = new ArrayList<>();
+    
+    // Constructors
+    public RolloverPreviewDTO() {
+    }
+    
+    public RolloverPreviewDTO(String year, List<BalanceChangeDTO> changes, long daysForfeited, long daysGranted,
+                              long requestsToExpire, long elapsedNanos) {
+        this.year = year;
+        this.changes = changes;
+        this.employeesChanged = changes.size();
+        this.daysForfeited = daysForfeited;
+        this.daysGranted = daysGranted;
+        this.requestsToExpire = requestsToExpire;
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+    }
+    
+    // Getters and Setters
+    public String getYear() {
+        return year;
+    }
+    
+    public void setYear(String year) {
+        this.year = year;
+    }
+    
+    public int getEmployeesChanged() {
+        return employeesChanged;
+    }
+    
+    public void setEmployeesChanged(int employeesChanged) {
+        this.employeesChanged = employeesChanged;
+    }
+    
+    public long getDaysForfeited() {
+        return daysForfeited;
+    }
+    
+    public void setDaysForfeited(long daysForfeited) {
+        this.daysForfeited = daysForfeited;
+    }
+    
+    public long getDaysGranted() {
+        return daysGranted;
+    }
+    
+    public void setDaysGranted(long daysGranted) {
+        this.daysGranted = daysGranted;
+    }
+    
+    public long getRequestsToExpire() {
+        return requestsToExpire;
+    }
+    
+    public void setRequestsToExpire(long requestsToExpire) {
+        this.requestsToExpire = requestsToExpire;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public List<BalanceChangeDTO> getChanges() {
+        return changes;
+    }
+    
+    public void setChanges(List<BalanceChangeDTO> changes) {
+        this.changes = changes;
+    }
+}
\ No newline at end of file
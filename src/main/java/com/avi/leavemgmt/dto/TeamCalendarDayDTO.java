@@ -0,0 +1,63 @@
+package com.avi.leavemgmt.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TeamCalendarDayDTO {
+    
+    private LocalDate date;
+    private boolean workingDay;
+    private List<String> absentEmployees = new ArrayList<>();
+    private List<String> pendingEmployees = new ArrayList<>();
+    
+    // Constructors
+    public TeamCalendarDayDTO() {
+    }
+    
+    public TeamCalendarDayDTO(LocalDate date, boolean workingDay) {
+        this.date = date;
+        this.workingDay = workingDay;
+    }
+    
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public boolean isWorkingDay() {
+        return workingDay;
+    }
+    
+    public void setWorkingDay(boolean workingDay) {
+        this.workingDay = workingDay;
+    }
+    
+    public int getAbsentCount() {
+        return absentEmployees.size();
+    }
+    
+    public List<String> getAbsentEmployees() {
+        return absentEmployees;
+    }
+    
+    public void setAbsentEmployees(List<String> absentEmployees) {
+        this.absentEmployees = absentEmployees;
+    }
+    
+    public int getPendingCount() {
+        return pendingEmployees.size();
+    }
+    
+    public List<String> getPendingEmployees() {
+        return pendingEmployees;
+    }
+    
+    public void setPendingEmployees(List<String> pendingEmployees) {
+        this.pendingEmployees = pendingEmployees;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.avi.leavemgmt.exception;
+
+/**
+ * The request is well-formed but breaks a leave rule, such as an overlap, an insufficient
+ * balance or a decision on a request that is no longer pending.
+ */
+public class BusinessRuleException extends LeaveManagementException {
+    
+    public BusinessRuleException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.avi.leavemgmt.exception;
+
+/**
+ * Creating or updating the resource would violate a uniqueness rule, such as an employee email.
+ */
+public class DuplicateResourceException extends LeaveManagementException {
+    
+    public DuplicateResourceException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.avi.leavemgmt.exception;
+
+/**
+ * The caller is not allowed to act on the resource, e.g. a manager deciding on a leave request
+ * of someone outside their team.
+ */
+public class ForbiddenOperationException extends LeaveManagementException {
+    
+    public ForbiddenOperationException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
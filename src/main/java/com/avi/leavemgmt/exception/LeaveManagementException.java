@@ -0,0 +1,13 @@
+package com.avi.leavemgmt.exception;
+
+/**
+ * Base class for expected business outcomes such as a missing record or a rule violation.
+ * These are thrown on ordinary invalid input, so they skip the stack trace and suppression
+ * bookkeeping that a {@link RuntimeException} normally pays for on construction.
+ */
+public abstract class LeaveManagementException extends RuntimeException {
+    
+    protected LeaveManagementException(String message) {
+        super(message, null, false, false);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.avi.leavemgmt.exception;
+
+/**
+ * A referenced employee or leave request does not exist.
+ */
+public class ResourceNotFoundException extends LeaveManagementException {
+    
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -7,13 +7,19 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_manager_id", columnList = "manager_id")
+})
 public class Employee {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @NotBlank(message = "Name is required")
     @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
     @Column(name = "name", nullable = false, length = 100)
@@ -43,6 +49,11 @@ public class Employee {
     @Column(name = "annual_leave_balance", nullable = false)
     private Integer annualLeaveBalance = 20;
     
+    // Last outbox sequence number handed out for this employee. Only EmployeeRepository's
+    // UPDATE advances it, so entity writes leave it alone and do not bump the version.
+    @Column(name = "outbox_sequence", nullable = false, insertable = false, updatable = false)
+    private Long outboxSequence;
+    
     // Constructors
     public Employee() {
     }
@@ -64,6 +75,14 @@ public class Employee {
         this.id = id;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public String getName() {
         return name;
     }
@@ -120,6 +139,10 @@ public class Employee {
         this.annualLeaveBalance = annualLeaveBalance;
     }
     
+    public Long getOutboxSequence() {
+        return outboxSequence;
+    }
+    
     @Override
     public String toString() {
         return "Employee{" +
@@ -0,0 +1,177 @@
+package com.avi.leavemgmt.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_job_checkpoints_job_period_partition", columnNames = {"job_name", "period", "partition_no"})
+})
+public class JobCheckpoint {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Two runners of the same job and period cannot both advance a checkpoint
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
+    @Column(name = "job_name", nullable = false, length = 50)
+    private String jobName;
+    
+    @Column(name = "period", nullable = false, length = 20)
+    private String period;
+    
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+    
+    @Column(name = "last_id", nullable = false)
+    private Long lastId = 0L;
+    
+    @Column(name = "end_id")
+    private Long endId;
+    
+    @Column(name = "rows_processed", nullable = false)
+    private Long rowsProcessed = 0L;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status = JobStatus.RUNNING;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public JobCheckpoint() {
+    }
+    
+    public JobCheckpoint(String jobName, String period, Integer partitionNo) {
+        this.jobName = jobName;
+        this.period = period;
+        this.partitionNo = partitionNo;
+        this.startedAt = LocalDateTime.now();
+        this.updatedAt = this.startedAt;
+    }
+    
+    // One ID range (afterId, endId] of a partitioned job
+    public JobCheckpoint(String jobName, String period, Integer partitionNo, Long afterId, Long endId) {
+        this(jobName, period, partitionNo);
+        this.lastId = afterId;
+        this.endId = endId;
+    }
+    
+    // Records a committed chunk; called in the same transaction as the chunk's writes
+    public void advance(Long lastId, long rows) {
+        this.lastId = lastId;
+        this.rowsProcessed += rows;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public void complete() {
+        this.status = JobStatus.COMPLETED;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean isCompleted() {
+        return status == JobStatus.COMPLETED;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public String getJobName() {
+        return jobName;
+    }
+    
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+    
+    public String getPeriod() {
+        return period;
+    }
+    
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+    
+    public Integer getPartitionNo() {
+        return partitionNo;
+    }
+    
+    public void setPartitionNo(Integer partitionNo) {
+        this.partitionNo = partitionNo;
+    }
+    
+    public Long getLastId() {
+        return lastId;
+    }
+    
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+    
+    public Long getEndId() {
+        return endId;
+    }
+    
+    public void setEndId(Long endId) {
+        this.endId = endId;
+    }
+    
+    public Long getRowsProcessed() {
+        return rowsProcessed;
+    }
+    
+    public void setRowsProcessed(Long rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+    
+    public JobStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public enum JobStatus {
+        RUNNING, COMPLETED
+    }
+}
\ No newline at end of file
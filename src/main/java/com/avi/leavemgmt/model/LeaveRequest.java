@@ -9,13 +9,23 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = {
+        @Index(name = "idx_leave_requests_employee_status_dates", columnList = "employee_id, status, start_date, end_date"),
+        @Index(name = "idx_leave_requests_status", columnList = "status"),
+        @Index(name = "idx_leave_requests_dates", columnList = "start_date, end_date")
+})
 public class LeaveRequest {
     
+    // Sequence (not identity) IDs keep JDBC insert batching available
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_requests_seq")
+    @SequenceGenerator(name = "leave_requests_seq", sequenceName = "leave_requests_seq", allocationSize = 50)
     private Long id;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @NotNull(message = "Employee ID is required")
     @Column(name = "employee_id", nullable = false)
     private Long employeeId;
@@ -57,7 +67,7 @@ public class LeaveRequest {
     
     // Nested enum for status
     public enum LeaveStatus {
-        PENDING, APPROVED, REJECTED
+        PENDING, APPROVED, REJECTED, EXPIRED
     }
     
     // Constructors
@@ -84,6 +94,14 @@ public class LeaveRequest {
         this.id = id;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public Long getEmployeeId() {
         return employeeId;
     }
@@ -0,0 +1,183 @@
+package com.avi.leavemgmt.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_status_id", columnList = "status, id"),
+        @Index(name = "idx_outbox_events_status_sequence", columnList = "status, employee_sequence, id")
+})
+public class OutboxEvent {
+    
+    // Sequence (not identity) IDs keep JDBC insert batching available for batch submits and decisions
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private EventType eventType;
+    
+    @Column(name = "leave_request_id", nullable = false)
+    private Long leaveRequestId;
+    
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+    
+    // Position among the employee's events in commit order, gapless; IDs only order events of one instance
+    @Column(name = "employee_sequence", nullable = false)
+    private Long employeeSequence;
+    
+    // JSON body handed to the sinks as is
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.PENDING;
+    
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    // Constructors
+    public OutboxEvent() {
+    }
+    
+    public OutboxEvent(EventType eventType, Long leaveRequestId, Long employeeId) {
+        this.eventType = eventType;
+        this.leaveRequestId = leaveRequestId;
+        this.employeeId = employeeId;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+    
+    // A failed delivery: retried from nextAttemptAt, or given up on as FAILED
+    public void failedAttempt(String error, LocalDateTime nextAttemptAt, boolean giveUp) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        this.nextAttemptAt = nextAttemptAt;
+        if (giveUp) {
+            this.status = Status.FAILED;
+        }
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public EventType getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+    
+    public Long getLeaveRequestId() {
+        return leaveRequestId;
+    }
+    
+    public void setLeaveRequestId(Long leaveRequestId) {
+        this.leaveRequestId = leaveRequestId;
+    }
+    
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+    
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+    
+    public Long getEmployeeSequence() {
+        return employeeSequence;
+    }
+    
+    public void setEmployeeSequence(Long employeeSequence) {
+        this.employeeSequence = employeeSequence;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public Integer getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
+    public LocalDateTime getDispatchedAt() {
+        return dispatchedAt;
+    }
+    
+    public void setDispatchedAt(LocalDateTime dispatchedAt) {
+        this.dispatchedAt = dispatchedAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public enum EventType {
+        LEAVE_SUBMITTED, LEAVE_APPROVED, LEAVE_REJECTED, LEAVE_EXPIRED
+    }
+    
+    public enum Status {
+        PENDING, DISPATCHED, FAILED
+    }
+}
\ No newline at end of file
@@ -1,17 +1,29 @@
 package com.avi.leavemgmt.repository;
 
+import com.avi.leavemgmt.dto.EmployeeDTO;
 import com.avi.leavemgmt.model.Employee;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     
+    // DTO projection with the manager name joined in SQL; the results are not managed entities
+    String EMPLOYEE_DTO_SELECT = "SELECT new com.avi.leavemgmt.dto.EmployeeDTO(" +
+            "e.id, e.name, e.email, e.department, e.role, e.managerId, m.name, e.joiningDate, e.annualLeaveBalance, e.version) " +
+            "FROM Employee e LEFT JOIN Employee m ON m.id = e.managerId ";
+    
     Optional<Employee> findByEmail(String email);
     
     List<Employee> findByDepartment(String department);
@@ -24,4 +36,101 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findTeamMembers(@Param("managerId") Long managerId);
     
     boolean existsByEmail(String email);
+    
+    @Query(EMPLOYEE_DTO_SELECT + "ORDER BY e.id")
+    List<EmployeeDTO> findAllAsDTOs();
+    
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.id = :id")
+    Optional<EmployeeDTO> findDTOById(@Param("id") Long id);
+    
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.department = :department ORDER BY e.id")
+    List<EmployeeDTO> findDTOsByDepartment(@Param("department") String department);
+    
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.managerId = :managerId ORDER BY e.id")
+    List<EmployeeDTO> findDTOsByManagerId(@Param("managerId") Long managerId);
+    
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.id > :after ORDER BY e.id")
+    List<EmployeeDTO> findDTOsAfter(@Param("after") Long after, Pageable pageable);
+    
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.id IN :ids ORDER BY e.id")
+    List<EmployeeDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Reporting lines only, for the org hierarchy index and its database fallback
+    @Query("SELECT e.id AS id, e.managerId AS managerId FROM Employee e")
+    List<ReportingLine> findAllReportingLines();
+    
+    @Query("SELECT e.managerId FROM Employee e WHERE e.id = :id")
+    Optional<Long> findManagerIdById(@Param("id") Long id);
+    
+    @Query("SELECT e.id FROM Employee e WHERE e.managerId IN :managerIds")
+    List<Long> findIdsByManagerIdIn(@Param("managerIds") Collection<Long> managerIds);
+    
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM Employee e")
+    long findMaxId();
+    
+    @Query("SELECT MIN(e.joiningDate) FROM Employee e")
+    Optional<LocalDate> findEarliestJoiningDate();
+    
+    // Monthly accrual for one ID range as a single statement. Employees who joined during the
+    // period get the share of the month they worked; VERSIONED bumps @Version like an entity update.
+    @Modifying
+    @Query("UPDATE VERSIONED Employee e SET e.annualLeaveBalance = e.annualLeaveBalance + " +
+           "CASE WHEN e.joiningDate <= :periodStart THEN :monthlyDays " +
+           "ELSE :monthlyDays * (:daysInPeriod - EXTRACT(DAY FROM e.joiningDate) + 1) / :daysInPeriod END " +
+           "WHERE e.id > :afterId AND e.id <= :upToId AND e.joiningDate <= :periodEnd")
+    int accrueLeave(@Param("afterId") Long afterId,
+                    @Param("upToId") Long upToId,
+                    @Param("periodStart") LocalDate periodStart,
+                    @Param("periodEnd") LocalDate periodEnd,
+                    @Param("daysInPeriod") int daysInPeriod,
+                    @Param("monthlyDays") int monthlyDays);
+    
+    // Year-end rollover for one ID range: caps the carried balance and adds the new year's entitlement.
+    // Employees who joined after the year ended already started on a new-year balance.
+    @Modifying
+    @Query("UPDATE VERSIONED Employee e SET e.annualLeaveBalance = " +
+           "CASE WHEN e.annualLeaveBalance > :maxCarryForward THEN :maxCarryForward ELSE e.annualLeaveBalance END " +
+           "+ :entitlement " +
+           "WHERE e.id > :afterId AND e.id <= :upToId AND e.joiningDate <= :yearEnd")
+    int rollOverLeaveBalances(@Param("afterId") Long afterId,
+                              @Param("upToId") Long upToId,
+                              @Param("yearEnd") LocalDate yearEnd,
+                              @Param("maxCarryForward") int maxCarryForward,
+                              @Param("entitlement") int entitlement);
+    
+    @Query("SELECT e.id AS id, e.annualLeaveBalance AS annualLeaveBalance FROM Employee e " +
+           "WHERE e.joiningDate <= :yearEnd")
+    List<LeaveBalance> findLeaveBalancesJoinedBy(@Param("yearEnd") LocalDate yearEnd);
+    
+    // Locks the employees' outbox counters until commit, in ID order so that concurrent writers
+    // touching overlapping employees wait for each other instead of deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id AS id, e.outboxSequence AS outboxSequence FROM Employee e WHERE e.id IN :ids ORDER BY e.id")
+    List<OutboxSequence> lockOutboxSequences(@Param("ids") Collection<Long> ids);
+    
+    // Only for rows already locked by lockOutboxSequences
+    @Modifying
+    @Query("UPDATE Employee e SET e.outboxSequence = e.outboxSequence + :count WHERE e.id IN :ids")
+    int advanceOutboxSequences(@Param("ids") Collection<Long> ids, @Param("count") long count);
+    
+    interface ReportingLine {
+        
+        Long getId();
+        
+        Long getManagerId();
+    }
+    
+    interface OutboxSequence {
+        
+        Long getId();
+        
+        Long getOutboxSequence();
+    }
+    
+    interface LeaveBalance {
+        
+        Long getId();
+        
+        Integer getAnnualLeaveBalance();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.avi.leavemgmt.repository;
+
+import com.avi.leavemgmt.model.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, Long> {
+    
+    Optional<JobCheckpoint> findByJobNameAndPeriodAndPartitionNo(String jobName, String period, Integer partitionNo);
+    
+    List<JobCheckpoint> findByJobNameAndPeriodOrderByPartitionNo(String jobName, String period);
+    
+    // Periods are ISO yyyy-MM or yyyy, so ordering them as strings is chronological
+    Optional<JobCheckpoint> findFirstByJobNameOrderByPeriodAsc(String jobName);
+}
\ No newline at end of file
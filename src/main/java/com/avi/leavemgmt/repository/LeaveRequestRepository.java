@@ -1,22 +1,37 @@
 package com.avi.leavemgmt.repository;
 
+import com.avi.leavemgmt.dto.LeaveRequestDTO;
 import com.avi.leavemgmt.model.LeaveRequest;
 import com.avi.leavemgmt.model.LeaveType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
     
+    // DTO projection with employee and approver names joined in SQL; the results are not managed entities
+    String LEAVE_REQUEST_DTO_SELECT = "SELECT new com.avi.leavemgmt.dto.LeaveRequestDTO(" +
+            "lr.id, lr.employeeId, e.name, lr.leaveType, lr.startDate, lr.endDate, lr.reason, lr.status, " +
+            "lr.appliedDate, lr.approvedBy, a.name, lr.approvedDate, lr.comments) " +
+            "FROM LeaveRequest lr LEFT JOIN Employee e ON e.id = lr.employeeId " +
+            "LEFT JOIN Employee a ON a.id = lr.approvedBy ";
+    
     List<LeaveRequest> findByEmployeeId(Long employeeId);
     
     List<LeaveRequest> findByStatus(LeaveRequest.LeaveStatus status);
     
+    List<LeaveRequest> findByStatusIn(Collection<LeaveRequest.LeaveStatus> statuses);
+    
     List<LeaveRequest> findByLeaveType(LeaveType leaveType);
     
     List<LeaveRequest> findByEmployeeIdAndStatus(Long employeeId, LeaveRequest.LeaveStatus status);
@@ -28,6 +43,13 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
                                                     @Param("startDate") LocalDate startDate,
                                                     @Param("endDate") LocalDate endDate);
     
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employeeId IN :employeeIds " +
+           "AND lr.status IN ('PENDING','APPROVED') " +
+           "AND lr.startDate <= :endDate AND lr.endDate >= :startDate")
+    List<LeaveRequest> findOverlappingApprovedLeavesForEmployees(@Param("employeeIds") Collection<Long> employeeIds,
+                                                                @Param("startDate") LocalDate startDate,
+                                                                @Param("endDate") LocalDate endDate);
+    
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employeeId IN " +
            "(SELECT e.id FROM Employee e WHERE e.managerId = :managerId)")
     List<LeaveRequest> findByTeamMembersForManager(@Param("managerId") Long managerId);
@@ -35,4 +57,56 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.startDate >= :startDate AND lr.endDate <= :endDate")
     List<LeaveRequest> findByDateRange(@Param("startDate") LocalDate startDate,
                                       @Param("endDate") LocalDate endDate);
+    
+    @Query(LEAVE_REQUEST_DTO_SELECT + "ORDER BY lr.id")
+    List<LeaveRequestDTO> findAllAsDTOs();
+    
+    @Query(LEAVE_REQUEST_DTO_SELECT + "WHERE lr.id = :id")
+    Optional<LeaveRequestDTO> findDTOById(@Param("id") Long id);
+    
+    @Query(LEAVE_REQUEST_DTO_SELECT + "WHERE lr.employeeId = :employeeId ORDER BY lr.id")
+    List<LeaveRequestDTO> findDTOsByEmployeeId(@Param("employeeId") Long employeeId);
+    
+    // Team as a sub-query: a WHERE on the outer-joined e would make H2 scan all of leave_requests
+    // instead of starting from idx_employees_manager_id
+    @Query(LEAVE_REQUEST_DTO_SELECT + "WHERE lr.employeeId IN " +
+            "(SELECT t.id FROM Employee t WHERE t.managerId = :managerId) ORDER BY lr.id")
+    List<LeaveRequestDTO> findDTOsForManager(@Param("managerId") Long managerId);
+    
+    // Transitive team queries: one lookup on idx_leave_requests_employee_status_dates per chunk of IDs
+    @Query(LEAVE_REQUEST_DTO_SELECT + "WHERE lr.employeeId IN :employeeIds ORDER BY lr.id")
+    List<LeaveRequestDTO> findDTOsByEmployeeIdIn(@Param("employeeIds") Collection<Long> employeeIds);
+    
+    @Query(LEAVE_REQUEST_DTO_SELECT + "WHERE lr.employeeId IN " +
+            "(SELECT t.id FROM Employee t WHERE t.managerId = :managerId) AND lr.status = :status ORDER BY lr.id")
+    List<LeaveRequestDTO> findDTOsForManagerAndStatus(@Param("managerId") Long managerId,
+                                                      @Param("status") LeaveRequest.LeaveStatus status);
+    
+    @Query(LEAVE_REQUEST_DTO_SELECT + "WHERE lr.employeeId IN :employeeIds AND lr.status = :status ORDER BY lr.id")
+    List<LeaveRequestDTO> findDTOsByEmployeeIdInAndStatus(@Param("employeeIds") Collection<Long> employeeIds,
+                                                          @Param("status") LeaveRequest.LeaveStatus status);
+    
+    @Query(LEAVE_REQUEST_DTO_SELECT + "WHERE lr.id > :after ORDER BY lr.id")
+    List<LeaveRequestDTO> findDTOsAfter(@Param("after") Long after, Pageable pageable);
+    
+    // Year-end rollover for the employees of one ID range: requests still undecided for the ended year,
+    // locked so a decision on one of them waits for the chunk to commit instead of racing it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT lr FROM LeaveRequest lr " +
+           "WHERE lr.employeeId > :afterId AND lr.employeeId <= :upToId " +
+           "AND lr.status = 'PENDING' AND lr.startDate <= :yearEnd")
+    List<LeaveRequest> findPendingRequestsToExpire(@Param("afterId") Long afterId,
+                                                   @Param("upToId") Long upToId,
+                                                   @Param("yearEnd") LocalDate yearEnd);
+    
+    @Query("SELECT lr.employeeId AS employeeId, COUNT(lr) AS count FROM LeaveRequest lr " +
+           "WHERE lr.status = 'PENDING' AND lr.startDate <= :yearEnd GROUP BY lr.employeeId")
+    List<EmployeeCount> countPendingRequestsStartingBy(@Param("yearEnd") LocalDate yearEnd);
+    
+    interface EmployeeCount {
+        
+        Long getEmployeeId();
+        
+        Long getCount();
+    }
 }
\ No newline at end of file
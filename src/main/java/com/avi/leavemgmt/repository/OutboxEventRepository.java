@@ -0,0 +1,35 @@
+package com.avi.leavemgmt.repository;
+
+import com.avi.leavemgmt.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // Undelivered events in employee sequence order, leaving out every employee whose earlier event is
+    // waiting out a retry backoff. A page that holds an employee's event also holds their earlier
+    // undelivered ones, so one employee's events are always delivered in commit order.
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = 'PENDING' AND e.employeeId NOT IN " +
+           "(SELECT b.employeeId FROM OutboxEvent b WHERE b.status = 'PENDING' AND b.nextAttemptAt > :now) " +
+           "ORDER BY e.employeeSequence, e.id")
+    List<OutboxEvent> findDeliverable(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'DISPATCHED', e.dispatchedAt = :dispatchedAt WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("dispatchedAt") LocalDateTime dispatchedAt);
+    
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'DISPATCHED' AND e.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+    
+    long countByStatus(OutboxEvent.Status status);
+}
\ No newline at end of file
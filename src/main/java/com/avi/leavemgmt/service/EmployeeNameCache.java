@@ -0,0 +1,77 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.model.Employee;
+import com.avi.leavemgmt.repository.EmployeeRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded ID to name cache for the display names copied into DTOs. Size and TTL come from
+ * {@code spring.cache.caffeine.spec}; entries are evicted by {@link EmployeeService} on every write.
+ * A load that overlaps an eviction takes back what it cached, so a name read before a rename or
+ * delete committed is not kept until the TTL expires.
+ */
+@Component
+public class EmployeeNameCache {
+
+    public static final String CACHE_NAME = "employeeNames";
+
+    private final Cache cache;
+    private final EmployeeRepository employeeRepository;
+    // Bumped by every eviction; coarse, so an unrelated eviction only costs a later miss
+    private final AtomicLong evictions = new AtomicLong();
+
+    public EmployeeNameCache(CacheManager cacheManager, EmployeeRepository employeeRepository) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.employeeRepository = employeeRepository;
+    }
+
+    public Optional<String> getName(Long employeeId) {
+        return Optional.ofNullable(getNames(Set.of(employeeId)).get(employeeId));
+    }
+
+    public Map<Long, String> getNames(Collection<Long> employeeIds) {
+        Map<Long, String> names = new HashMap<>();
+        Set<Long> misses = new HashSet<>();
+        for (Long employeeId : employeeIds) {
+            String name = cache.get(employeeId, String.class);
+            if (name != null) {
+                names.put(employeeId, name);
+            } else {
+                misses.add(employeeId);
+            }
+        }
+
+        // Load every miss with a single query
+        if (!misses.isEmpty()) {
+            long evictionsBefore = evictions.get();
+            List<Long> loaded = new ArrayList<>();
+            for (Employee employee : employeeRepository.findAllById(misses)) {
+                cache.put(employee.getId(), employee.getName());
+                names.put(employee.getId(), employee.getName());
+                loaded.add(employee.getId());
+            }
+            // Checked after the puts: an eviction either shows up here or removes the entry itself
+            if (evictions.get() != evictionsBefore) {
+                loaded.forEach(cache::evict);
+            }
+        }
+        return names;
+    }
+
+    public void evict(Long employeeId) {
+        evictions.incrementAndGet();
+        cache.evict(employeeId);
+    }
+}
\ No newline at end of file
@@ -1,56 +1,112 @@
 package com.avi.leavemgmt.service;
 
 import com.avi.leavemgmt.dto.EmployeeDTO;
+import com.avi.leavemgmt.dto.OrgNodeDTO;
+import com.avi.leavemgmt.exception.BusinessRuleException;
+import com.avi.leavemgmt.exception.DuplicateResourceException;
+import com.avi.leavemgmt.exception.ResourceNotFoundException;
 import com.avi.leavemgmt.model.Employee;
 import com.avi.leavemgmt.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
+@Timed(value = "leave.service", description = "Service method latency")
 public class EmployeeService {
     
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final int IN_CLAUSE_CHUNK = 1000;
+    
     private final EmployeeRepository employeeRepository;
+    private final EmployeeNameCache employeeNameCache;
+    private final OrgHierarchyIndex orgHierarchyIndex;
     
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, EmployeeNameCache employeeNameCache,
+                           OrgHierarchyIndex orgHierarchyIndex) {
         this.employeeRepository = employeeRepository;
+        this.employeeNameCache = employeeNameCache;
+        this.orgHierarchyIndex = orgHierarchyIndex;
     }
     
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getAllEmployees() {
-        return employeeRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return employeeRepository.findAllAsDTOs();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> getEmployeesPage(Long after, int limit) {
+        return employeeRepository.findDTOsAfter(after != null ? after : 0L, PageRequest.of(0, limit));
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamEmployees(Consumer<EmployeeDTO> consumer) {
+        Long after = 0L;
+        List<EmployeeDTO> batch;
+        do {
+            // Projections are never attached to the persistence context, so it stays empty between batches
+            batch = employeeRepository.findDTOsAfter(after, PageRequest.of(0, STREAM_BATCH_SIZE));
+            batch.forEach(consumer);
+            if (!batch.isEmpty()) {
+                after = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
     }
     
+    @Transactional(readOnly = true)
     public Optional<EmployeeDTO> getEmployeeById(Long id) {
-        return employeeRepository.findById(id)
-                .map(this::convertToDTO);
+        return employeeRepository.findDTOById(id);
     }
     
     public EmployeeDTO createEmployee(EmployeeDTO employeeDTO) {
         if (employeeRepository.existsByEmail(employeeDTO.getEmail())) {
-            throw new RuntimeException("Employee with email " + employeeDTO.getEmail() + " already exists");
+            throw new DuplicateResourceException("Employee with email " + employeeDTO.getEmail() + " already exists");
         }
         
         Employee employee = convertToEntity(employeeDTO);
         Employee savedEmployee = employeeRepository.save(employee);
+        TransactionCallbacks.afterCommit(() -> {
+            employeeNameCache.evict(savedEmployee.getId());
+            orgHierarchyIndex.put(savedEmployee.getId(), savedEmployee.getManagerId());
+        });
         return convertToDTO(savedEmployee);
     }
     
     public EmployeeDTO updateEmployee(Long id, EmployeeDTO employeeDTO) {
         Employee existingEmployee = employeeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
         
         // Check if email is being changed and if new email already exists
         if (!existingEmployee.getEmail().equals(employeeDTO.getEmail()) &&
             employeeRepository.existsByEmail(employeeDTO.getEmail())) {
-            throw new RuntimeException("Employee with email " + employeeDTO.getEmail() + " already exists");
+            throw new DuplicateResourceException("Employee with email " + employeeDTO.getEmail() + " already exists");
+        }
+        
+        // A new manager from the employee's own reporting line would close a loop in the org tree
+        Long managerId = employeeDTO.getManagerId();
+        if (managerId != null && (managerId.equals(id) || orgHierarchyIndex.isAbove(id, managerId))) {
+            throw new BusinessRuleException("An employee cannot report to themselves or to anyone who reports to them");
+        }
+        
+        // The whole record is replaced, so it must be the version the client read: otherwise an
+        // approval's balance deduction or another edit made since then would be silently undone
+        if (employeeDTO.getVersion() == null) {
+            throw new BusinessRuleException("Version is required when updating an employee");
+        }
+        if (!employeeDTO.getVersion().equals(existingEmployee.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Employee.class, id);
         }
         
         existingEmployee.setName(employeeDTO.getName());
@@ -61,30 +117,78 @@ public class EmployeeService {
         existingEmployee.setJoiningDate(employeeDTO.getJoiningDate());
         existingEmployee.setAnnualLeaveBalance(employeeDTO.getAnnualLeaveBalance());
         
-        Employee updatedEmployee = employeeRepository.save(existingEmployee);
+        // Flushed so the response carries the incremented version for the client's next update
+        Employee updatedEmployee = employeeRepository.saveAndFlush(existingEmployee);
+        TransactionCallbacks.afterCommit(() -> {
+            employeeNameCache.evict(id);
+            orgHierarchyIndex.put(id, updatedEmployee.getManagerId());
+        });
         return convertToDTO(updatedEmployee);
     }
     
     public void deleteEmployee(Long id) {
         if (!employeeRepository.existsById(id)) {
-            throw new RuntimeException("Employee not found with id: " + id);
+            throw new ResourceNotFoundException("Employee not found with id: " + id);
         }
         employeeRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> {
+            employeeNameCache.evict(id);
+            orgHierarchyIndex.remove(id);
+        });
     }
     
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getEmployeesByDepartment(String department) {
-        return employeeRepository.findByDepartment(department).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return employeeRepository.findDTOsByDepartment(department);
     }
     
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getTeamMembers(Long managerId) {
-        return employeeRepository.findByManagerId(managerId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return employeeRepository.findDTOsByManagerId(managerId);
+    }
+    
+    @Transactional(readOnly = true)
+    public OrgNodeDTO getOrgChart(Long id, int depth) {
+        List<Long> ids = new ArrayList<>();
+        ids.add(id);
+        ids.addAll(orgHierarchyIndex.getSubordinateIds(id, depth));
+        
+        Map<Long, OrgNodeDTO> nodes = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()));
+            for (EmployeeDTO employee : employeeRepository.findDTOsByIdIn(chunk)) {
+                nodes.put(employee.getId(), new OrgNodeDTO(employee));
+            }
+        }
+        OrgNodeDTO root = nodes.get(id);
+        if (root == null) {
+            throw new ResourceNotFoundException("Employee not found with id: " + id);
+        }
+        
+        // Managers come before their reports in ids, so reports are attached in a stable order
+        for (Long subordinateId : ids.subList(1, ids.size())) {
+            OrgNodeDTO node = nodes.get(subordinateId);
+            OrgNodeDTO manager = node == null ? null : nodes.get(node.getManagerId());
+            if (manager != null) {
+                manager.getDirectReports().add(node);
+            }
+        }
+        return root;
     }
     
     private EmployeeDTO convertToDTO(Employee employee) {
+        EmployeeDTO dto = toDTO(employee);
+        
+        // Set manager name if available
+        if (employee.getManagerId() != null) {
+            employeeNameCache.getName(employee.getManagerId())
+                    .ifPresent(dto::setManagerName);
+        }
+        
+        return dto;
+    }
+    
+    private EmployeeDTO toDTO(Employee employee) {
         EmployeeDTO dto = new EmployeeDTO();
         dto.setId(employee.getId());
         dto.setName(employee.getName());
@@ -94,19 +198,13 @@ public class EmployeeService {
         dto.setManagerId(employee.getManagerId());
         dto.setJoiningDate(employee.getJoiningDate());
         dto.setAnnualLeaveBalance(employee.getAnnualLeaveBalance());
-        
-        // Set manager name if available
-        if (employee.getManagerId() != null) {
-            employeeRepository.findById(employee.getManagerId())
-                    .ifPresent(manager -> dto.setManagerName(manager.getName()));
-        }
-        
+        dto.setVersion(employee.getVersion());
         return dto;
     }
     
+    // Only used to create employees: a client-supplied ID is ignored, the database assigns one
     private Employee convertToEntity(EmployeeDTO dto) {
         Employee employee = new Employee();
-        employee.setId(dto.getId());
         employee.setName(dto.getName());
         employee.setEmail(dto.getEmail());
         employee.setDepartment(dto.getDepartment());
@@ -0,0 +1,47 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends each event's JSON as one line to {@code leave.outbox.file.path} (NDJSON), for
+ * consumers that pick up files rather than calls.
+ */
+@Component
+public class FileLeaveEventSink implements LeaveEventSink {
+
+    private final Path path;
+    // Keeps lines whole; a lock rather than a monitor, so a virtual thread blocked on the write
+    // does not pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileLeaveEventSink(@Value("${leave.outbox.file.path:./data/leave-events.ndjson}") Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void deliver(OutboxEvent event) throws IOException {
+        lock.lock();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, event.getPayload() + "\n",
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
\ No newline at end of file
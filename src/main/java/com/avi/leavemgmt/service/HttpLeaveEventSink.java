@@ -0,0 +1,50 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * POSTs each event's JSON to {@code leave.outbox.http.url}, with the event ID in an
+ * {@code Idempotency-Key} header. Anything but a 2xx response is a failed delivery.
+ */
+@Component
+public class HttpLeaveEventSink implements LeaveEventSink {
+
+    private final URI uri;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    public HttpLeaveEventSink(@Value("${leave.outbox.http.url:http://localhost:9090/leave-events}") URI uri,
+                              @Value("${leave.outbox.http.timeout-ms:2000}") long timeoutMillis) {
+        this.uri = uri;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String name() {
+        return "http";
+    }
+
+    @Override
+    public void deliver(OutboxEvent event) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", event.getId().toString())
+                .POST(HttpRequest.BodyPublishers.ofString(event.getPayload()))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("POST " + uri + " returned " + response.statusCode());
+        }
+    }
+}
\ No newline at end of file
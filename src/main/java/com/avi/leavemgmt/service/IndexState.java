@@ -0,0 +1,127 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.model.LeaveRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * State of an in-memory index over leave requests that can be rebuilt from the database while
+ * after-commit changes keep arriving. Next to the state it keeps the newest version applied for
+ * each request, and a change is applied only if it is newer, or creates a request not seen yet.
+ * A change therefore counts once however its after-commit callback and a rebuild's snapshot
+ * interleave: changes run under a shared lock and, while a rebuild reads its snapshot, are also
+ * recorded; the rebuild replays them onto its state with the same rule and swaps both in under
+ * the exclusive lock. Versions of requests that have left the index are kept until the next
+ * rebuild.
+ */
+final class IndexState<S> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held for a whole rebuild, database read included; a lock rather than a monitor, so a virtual
+    // thread waiting on the read does not pin its carrier
+    private final Lock rebuildLock = new ReentrantLock();
+    // Swapped together under the exclusive lock
+    private volatile S state;
+    private volatile Map<Long, Long> versions = new ConcurrentHashMap<>();
+    // Non-null while a rebuild is running; replaced and cleared under the exclusive lock
+    private Queue<Change<S>> recorded;
+
+    IndexState(S initial) {
+        this.state = initial;
+    }
+
+    S get() {
+        return state;
+    }
+
+    // A request that was just created, at its first version
+    void created(LeaveRequest leaveRequest, Consumer<S> change) {
+        apply(new Change<>(leaveRequest.getId(), leaveRequest.getVersion(), true, change));
+    }
+
+    // An existing request, at the version the change committed
+    void changed(LeaveRequest leaveRequest, Consumer<S> change) {
+        apply(new Change<>(leaveRequest.getId(), leaveRequest.getVersion(), false, change));
+    }
+
+    /**
+     * Builds a new state from {@code snapshot}, which must read the indexed requests with one
+     * statement, and swaps it in. Rebuilds run one at a time.
+     */
+    S rebuild(Supplier<List<LeaveRequest>> snapshot, Function<List<LeaveRequest>, S> builder) {
+        rebuildLock.lock();
+        try {
+            return rebuildAndSwap(snapshot, builder);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private S rebuildAndSwap(Supplier<List<LeaveRequest>> snapshot, Function<List<LeaveRequest>, S> builder) {
+        lock.writeLock().lock();
+        try {
+            recorded = new ConcurrentLinkedQueue<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        S rebuilt = null;
+        Map<Long, Long> rebuiltVersions = new ConcurrentHashMap<>();
+        try {
+            List<LeaveRequest> leaveRequests = snapshot.get();
+            rebuilt = builder.apply(leaveRequests);
+            leaveRequests.forEach(leaveRequest -> rebuiltVersions.put(leaveRequest.getId(), leaveRequest.getVersion()));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null) {
+                    for (Change<S> change : recorded) {
+                        applyOnce(rebuilt, rebuiltVersions, change);
+                    }
+                    state = rebuilt;
+                    versions = rebuiltVersions;
+                }
+                recorded = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return rebuilt;
+    }
+
+    private void apply(Change<S> change) {
+        lock.readLock().lock();
+        try {
+            applyOnce(state, versions, change);
+            if (recorded != null) {
+                recorded.add(change);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Per request the check and the change run atomically, so concurrent callbacks cannot both pass
+    private static <S> void applyOnce(S target, Map<Long, Long> applied, Change<S> change) {
+        applied.compute(change.id(), (id, version) -> {
+            if (version == null ? !change.creates() : change.version() <= version) {
+                return version;
+            }
+            change.action().accept(target);
+            return change.version();
+        });
+    }
+
+    private record Change<S>(Long id, Long version, boolean creates, Consumer<S> action) {
+    }
+}
\ No newline at end of file
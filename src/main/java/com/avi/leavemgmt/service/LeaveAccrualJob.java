@@ -0,0 +1,137 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.dto.JobRunDTO;
+import com.avi.leavemgmt.exception.BusinessRuleException;
+import com.avi.leavemgmt.exception.ResourceNotFoundException;
+import com.avi.leavemgmt.model.JobCheckpoint;
+import com.avi.leavemgmt.repository.EmployeeRepository;
+import com.avi.leavemgmt.repository.JobCheckpointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Optional;
+
+/**
+ * Monthly leave accrual as one set-based UPDATE per chunk of {@code leave.accrual.chunk-size}
+ * employee IDs. Each chunk commits together with its checkpoint row, so a crashed or
+ * interrupted run resumes after the last committed chunk, and a completed period is never
+ * credited twice. Runs for the month that just ended on {@code leave.accrual.cron}. A month can
+ * only be accrued once it has ended, if an employee had joined by its end, and if it is not older
+ * than the first month ever accrued, which is where the balances started.
+ */
+@Service
+public class LeaveAccrualJob {
+
+    public static final String JOB_NAME = "leave-accrual";
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveAccrualJob.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobTimer jobTimer;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int monthlyDays;
+
+    public LeaveAccrualJob(EmployeeRepository employeeRepository,
+                           JobCheckpointRepository jobCheckpointRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${leave.accrual.enabled:false}") boolean enabled,
+                           @Value("${leave.accrual.chunk-size:1000}") int chunkSize,
+                           @Value("${leave.accrual.days-per-month:2}") int monthlyDays) {
+        this.employeeRepository = employeeRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobTimer = new JobTimer(meterRegistry, JOB_NAME);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.monthlyDays = monthlyDays;
+    }
+
+    @Scheduled(cron = "${leave.accrual.cron:0 30 0 1 * *}")
+    public void accruePreviousMonth() {
+        if (enabled) {
+            accrue(YearMonth.now().minusMonths(1));
+        }
+    }
+
+    public JobRunDTO accrue(YearMonth period) {
+        return jobTimer.record(() -> run(period));
+    }
+
+    public JobRunDTO getRun(YearMonth period) {
+        JobCheckpoint checkpoint = jobCheckpointRepository
+                .findByJobNameAndPeriodAndPartitionNo(JOB_NAME, period.toString(), 0)
+                .orElseThrow(() -> new ResourceNotFoundException("No leave accrual run for " + period));
+        return new JobRunDTO(JOB_NAME, checkpoint.getPeriod(), checkpoint.getStatus().name(),
+                checkpoint.getRowsProcessed(), checkpoint.getRowsProcessed(),
+                Duration.between(checkpoint.getStartedAt(), checkpoint.getUpdatedAt()).toNanos());
+    }
+
+    private JobRunDTO run(YearMonth period) {
+        if (!period.isBefore(YearMonth.now())) {
+            throw new BusinessRuleException("Leave can only be accrued for months that have ended");
+        }
+        if (employeeRepository.findEarliestJoiningDate().filter(period.atEndOfMonth()::isBefore).isPresent()) {
+            throw new BusinessRuleException("No employee had joined by the end of " + period);
+        }
+        Optional<JobCheckpoint> first = jobCheckpointRepository.findFirstByJobNameOrderByPeriodAsc(JOB_NAME);
+        if (first.isPresent() && period.isBefore(YearMonth.parse(first.get().getPeriod()))) {
+            throw new BusinessRuleException("Leave accrual started with " + first.get().getPeriod()
+                    + ", earlier months can no longer be accrued");
+        }
+        long started = System.nanoTime();
+        JobCheckpoint checkpoint = transactionTemplate.execute(status -> jobCheckpointRepository
+                .findByJobNameAndPeriodAndPartitionNo(JOB_NAME, period.toString(), 0)
+                .orElseGet(() -> jobCheckpointRepository.save(new JobCheckpoint(JOB_NAME, period.toString(), 0))));
+        if (checkpoint.isCompleted()) {
+            log.info("Leave accrual for {} already completed, skipping", period);
+            return new JobRunDTO(JOB_NAME, period.toString(), checkpoint.getStatus().name(), 0,
+                    checkpoint.getRowsProcessed(), 0);
+        }
+
+        // Sparse IDs only make some chunks smaller; employees created during the run are left
+        // for the next period, which they would not be pro-rated into anyway
+        long maxId = employeeRepository.findMaxId();
+        long afterId = checkpoint.getLastId();
+        long rows = 0;
+        while (afterId < maxId) {
+            long from = afterId;
+            long upTo = Math.min(from + chunkSize, maxId);
+            rows += transactionTemplate.execute(status -> {
+                int updated = employeeRepository.accrueLeave(from, upTo, period.atDay(1), period.atEndOfMonth(),
+                        period.lengthOfMonth(), monthlyDays);
+                // The @Version check fails here if another runner advanced this checkpoint
+                JobCheckpoint current = jobCheckpointRepository.findById(checkpoint.getId()).orElseThrow();
+                if (current.getLastId() != from) {
+                    throw new OptimisticLockingFailureException("Leave accrual for " + period + " is running elsewhere");
+                }
+                current.advance(upTo, updated);
+                return updated;
+            });
+            afterId = upTo;
+        }
+        JobCheckpoint completed = transactionTemplate.execute(status -> {
+            JobCheckpoint current = jobCheckpointRepository.findById(checkpoint.getId()).orElseThrow();
+            current.complete();
+            return current;
+        });
+
+        JobRunDTO run = new JobRunDTO(JOB_NAME, period.toString(), completed.getStatus().name(), rows,
+                completed.getRowsProcessed(), System.nanoTime() - started);
+        log.info("Leave accrual for {}: {} employees in {} ms ({} rows/s)", period, rows, run.getElapsedMillis(),
+                Math.round(run.getRowsPerSecond()));
+        return run;
+    }
+}
\ No newline at end of file
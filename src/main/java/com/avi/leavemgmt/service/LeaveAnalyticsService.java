@@ -0,0 +1,167 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.dto.LeaveUsageDTO;
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.model.LeaveType;
+import com.avi.leavemgmt.repository.EmployeeRepository;
+import com.avi.leavemgmt.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Working days taken (APPROVED) and pending per department, leave type and month, kept as
+ * in-memory counters so reports cost O(groups) instead of O(requests). Counters are applied
+ * after commit by {@link LeaveRequestService}, rebuilt from the database on startup, by a
+ * scheduled job and on demand. A request's days count towards its employee's department when it
+ * is first counted, and the department is kept with it, so deciding it after the employee moved
+ * takes the pending days from the department that holds them. Changes committed while a rebuild reads its snapshot are replayed onto the rebuilt
+ * counters, so a rebuild never loses or double-counts one. Like the other in-memory indexes they
+ * are local to this JVM.
+ */
+@Service
+public class LeaveAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveAnalyticsService.class);
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final EmployeeRepository employeeRepository;
+    private final WorkingDayCalculator workingDayCalculator;
+
+    private final IndexState<Counters> counters = new IndexState<>(Counters.empty());
+
+    public LeaveAnalyticsService(LeaveRequestRepository leaveRequestRepository,
+                                 EmployeeRepository employeeRepository,
+                                 WorkingDayCalculator workingDayCalculator) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.employeeRepository = employeeRepository;
+        this.workingDayCalculator = workingDayCalculator;
+    }
+
+    // Safe under live traffic: changes committed while the snapshot is read are replayed onto it
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${leave.analytics.rebuild-cron:0 0 2 * * *}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.nanoTime();
+        Map<Long, String> departments = new HashMap<>();
+        employeeRepository.findAll().forEach(employee -> departments.put(employee.getId(), employee.getDepartment()));
+
+        AtomicInteger requestCount = new AtomicInteger();
+        Counters rebuilt = counters.rebuild(() -> leaveRequestRepository.findByStatusIn(
+                EnumSet.of(LeaveRequest.LeaveStatus.PENDING, LeaveRequest.LeaveStatus.APPROVED)), leaveRequests -> {
+            Counters built = Counters.empty();
+            for (LeaveRequest leaveRequest : leaveRequests) {
+                count(built, leaveRequest, departments.get(leaveRequest.getEmployeeId()));
+            }
+            requestCount.set(leaveRequests.size());
+            return built;
+        });
+        log.info("Leave analytics rebuilt from {} leave requests into {} groups in {} ms",
+                requestCount.get(), rebuilt.usage().size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public void add(LeaveRequest leaveRequest, String department) {
+        counters.created(leaveRequest, target -> count(target, leaveRequest, department));
+    }
+
+    public void statusChanged(LeaveRequest leaveRequest, LeaveRequest.LeaveStatus previousStatus) {
+        counters.changed(leaveRequest, target -> {
+            Attribution attribution = target.attributions().get(leaveRequest.getId());
+            if (attribution == null) {
+                return;
+            }
+            apply(target.usage(), leaveRequest, attribution.department(), previousStatus, -1);
+            apply(target.usage(), leaveRequest, attribution.department(), leaveRequest.getStatus(), 1);
+            if (!isCounted(leaveRequest.getStatus())) {
+                target.attributions().remove(leaveRequest.getId());
+            }
+        });
+    }
+
+    /**
+     * Usage groups matching the optional filters, ordered by month, department and leave type.
+     */
+    public List<LeaveUsageDTO> getUsage(String department, LeaveType leaveType, YearMonth from, YearMonth to) {
+        List<LeaveUsageDTO> result = new ArrayList<>();
+        counters.get().usage().forEach((key, value) -> {
+            if ((department == null || department.equals(key.department()))
+                    && (leaveType == null || leaveType == key.leaveType())
+                    && (from == null || !key.month().isBefore(from))
+                    && (to == null || !key.month().isAfter(to))
+                    && (value.takenDays() != 0 || value.pendingDays() != 0)) {
+                result.add(new LeaveUsageDTO(key.department(), key.leaveType(), key.month(),
+                        value.takenDays(), value.pendingDays()));
+            }
+        });
+        result.sort(Comparator.comparing(LeaveUsageDTO::getMonth)
+                .thenComparing(LeaveUsageDTO::getDepartment, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(LeaveUsageDTO::getLeaveType));
+        return result;
+    }
+
+    private void count(Counters target, LeaveRequest leaveRequest, String department) {
+        if (isCounted(leaveRequest.getStatus())) {
+            target.attributions().put(leaveRequest.getId(), new Attribution(department));
+            apply(target.usage(), leaveRequest, department, leaveRequest.getStatus(), 1);
+        }
+    }
+
+    private static boolean isCounted(LeaveRequest.LeaveStatus status) {
+        return status == LeaveRequest.LeaveStatus.PENDING || status == LeaveRequest.LeaveStatus.APPROVED;
+    }
+
+    // Splits the request's working days by calendar month and adds them to the bucket for the status
+    private void apply(Map<UsageKey, Usage> target, LeaveRequest leaveRequest, String department,
+                       LeaveRequest.LeaveStatus status, int sign) {
+        if (!isCounted(status)) {
+            return;
+        }
+        YearMonth month = YearMonth.from(leaveRequest.getStartDate());
+        YearMonth lastMonth = YearMonth.from(leaveRequest.getEndDate());
+        for (; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            LocalDate first = month.equals(YearMonth.from(leaveRequest.getStartDate())) ? leaveRequest.getStartDate() : month.atDay(1);
+            LocalDate last = month.equals(lastMonth) ? leaveRequest.getEndDate() : month.atEndOfMonth();
+            long days = sign * workingDayCalculator.countWorkingDays(first, last);
+            Usage delta = status == LeaveRequest.LeaveStatus.APPROVED ? new Usage(days, 0) : new Usage(0, days);
+            target.merge(new UsageKey(department, leaveRequest.getLeaveType(), month), delta, Usage::plus);
+        }
+    }
+
+    // The usage counters, and the department each counted request's days were added under
+    private record Counters(Map<UsageKey, Usage> usage, Map<Long, Attribution> attributions) {
+
+        static Counters empty() {
+            return new Counters(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    // Wraps the department, which is null for a deleted employee and cannot be a map value itself
+    private record Attribution(String department) {
+    }
+
+    private record UsageKey(String department, LeaveType leaveType, YearMonth month) {
+    }
+
+    private record Usage(long takenDays, long pendingDays) {
+
+        Usage plus(Usage other) {
+            return new Usage(takenDays + other.takenDays, pendingDays + other.pendingDays);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,227 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.dto.LeaveEventDTO;
+import com.avi.leavemgmt.dto.LeaveRequestDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes leave lifecycle events to managers over Server-Sent Events, so an approval screen stays
+ * current without polling. A subscriber first receives a {@code snapshot} of the pending requests
+ * it covers, then one event per submission, decision or year-end expiry, named after its event
+ * type; clients upsert by {@code leaveRequestId} and drop requests that are no longer PENDING. Events come from {@link LeaveEventOutbox} once their
+ * transaction commits and are routed through {@link OrgHierarchyIndex}: the direct manager's
+ * subscribers see their team, transitive subscribers everyone below them.
+ * <p>
+ * Every subscriber has a bounded queue drained by the application task executor, so a slow client
+ * never holds up the request that caused an event. When a queue overflows, as a large batch
+ * decision can make it, its backlog is dropped and replaced by a fresh snapshot, so a subscriber
+ * never silently misses a change.
+ * Subscriptions are local to the JVM, so with several instances each one only sees the changes
+ * made through it.
+ */
+@Component
+public class LeaveEventFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveEventFeed.class);
+
+    private final LeaveRequestService leaveRequestService;
+    private final OrgHierarchyIndex orgHierarchyIndex;
+    private final TaskExecutor taskExecutor;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final Counter resyncCounter;
+
+    private final Map<Long, Set<Subscriber>> subscribersByManager = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public LeaveEventFeed(LeaveRequestService leaveRequestService,
+                          OrgHierarchyIndex orgHierarchyIndex,
+                          @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                          MeterRegistry meterRegistry,
+                          @Value("${leave.feed.timeout-ms:1800000}") long timeoutMillis,
+                          @Value("${leave.feed.buffer-size:256}") int bufferSize) {
+        this.leaveRequestService = leaveRequestService;
+        this.orgHierarchyIndex = orgHierarchyIndex;
+        this.taskExecutor = taskExecutor;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.resyncCounter = Counter.builder("leave.feed.resyncs")
+                .description("Feed backlogs that overflowed and were replaced by a fresh snapshot")
+                .register(meterRegistry);
+        Gauge.builder("leave.feed.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open pending-approval feeds")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long managerId, boolean transitive) {
+        Subscriber subscriber = new Subscriber(managerId, transitive, new SseEmitter(timeoutMillis),
+                new ArrayBlockingQueue<>(bufferSize));
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+
+        // Registered before the snapshot is read, so nothing committed in between is lost; an event
+        // already in the snapshot may arrive once more, which the upsert absorbs
+        subscribersByManager.compute(managerId, (id, subscribers) -> {
+            Set<Subscriber> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriberCount.incrementAndGet();
+        try {
+            subscriber.emitter.send(snapshot(subscriber));
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        } catch (IOException e) {
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return subscriber.emitter;
+        }
+        subscriber.started = true;
+        scheduleDrain(subscriber);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener
+    public void onLeaveEvent(LeaveEventDTO event) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        List<Long> managerIds = orgHierarchyIndex.getManagerIds(event.getEmployeeId());
+        for (int level = 0; level < managerIds.size(); level++) {
+            Set<Subscriber> subscribers = subscribersByManager.get(managerIds.get(level));
+            if (subscribers == null) {
+                continue;
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (level == 0 || subscriber.transitive) {
+                    enqueue(subscriber, SseEmitter.event()
+                            .name(event.getEventType().name())
+                            .id(String.valueOf(event.getLeaveRequestId()))
+                            .data(event));
+                }
+            }
+        }
+    }
+
+    // Also lets clients and proxies notice a dead connection between events
+    @Scheduled(fixedRateString = "${leave.feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : subscribersByManager.values()) {
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribersByManager.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private SseEmitter.SseEventBuilder snapshot(Subscriber subscriber) {
+        List<LeaveRequestDTO> pending = leaveRequestService.getPendingLeaveRequestsForManager(subscriber.managerId,
+                subscriber.transitive);
+        return SseEmitter.event().name("snapshot").data(pending);
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            // Cleared before the flag is raised, so the snapshot is read after every dropped event committed
+            subscriber.queue.clear();
+            if (subscriber.resync.compareAndSet(false, true)) {
+                log.info("Leave feed of manager {} fell {} events behind, resending snapshot", subscriber.managerId, bufferSize);
+                resyncCounter.increment();
+            }
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.started && subscriber.draining.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                if (subscriber.resync.getAndSet(false)) {
+                    subscriber.emitter.send(snapshot(subscriber));
+                }
+                SseEmitter.SseEventBuilder event = subscriber.queue.poll();
+                if (event == null) {
+                    break;
+                }
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client gone or emitter already completed
+            remove(subscriber);
+            subscriber.queue.clear();
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Closing leave feed of manager {}: {}", subscriber.managerId, e.toString());
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Work offered after the last check but before the flag was cleared found a drain running
+        if (!subscriber.queue.isEmpty() || subscriber.resync.get()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    // Adding and removing both go through compute, so an emptied set is never dropped under a new subscriber
+    private void remove(Subscriber subscriber) {
+        subscribersByManager.computeIfPresent(subscriber.managerId, (id, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private static final class Subscriber {
+
+        final Long managerId;
+        final boolean transitive;
+        final SseEmitter emitter;
+        final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean resync = new AtomicBoolean();
+        volatile boolean started;
+
+        Subscriber(Long managerId, boolean transitive, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.managerId = managerId;
+            this.transitive = transitive;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
\ No newline at end of file
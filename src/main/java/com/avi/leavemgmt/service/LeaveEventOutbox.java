@@ -0,0 +1,141 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.dto.LeaveEventDTO;
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.model.OutboxEvent;
+import com.avi.leavemgmt.repository.EmployeeRepository;
+import com.avi.leavemgmt.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Writes leave lifecycle events to the outbox table in the caller's transaction, so an event
+ * exists exactly when the change it describes has committed. {@link OutboxDispatcher} delivers
+ * them afterwards, keeping remote sinks off the request path. Each event is also published in
+ * process, where {@link LeaveEventFeed} picks it up once the transaction commits.
+ * <p>
+ * Outbox IDs come from pooled sequence blocks, so across instances they do not follow commit
+ * order. The events of a transaction are therefore written just before it commits, numbered from
+ * their employee's {@code outbox_sequence}. Reading that counter locks the employee row until
+ * commit, employees in ID order, so each employee's events are numbered in commit order without gaps, and
+ * {@link OutboxDispatcher} delivers them in that order.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class LeaveEventOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveEventOutbox.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LeaveEventOutbox(OutboxEventRepository outboxEventRepository, EmployeeRepository employeeRepository,
+                            ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.employeeRepository = employeeRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void record(LeaveRequest leaveRequest, OutboxEvent.EventType eventType) {
+        recordAll(List.of(leaveRequest), eventType);
+    }
+
+    public void recordAll(List<LeaveRequest> leaveRequests, OutboxEvent.EventType eventType) {
+        PendingEvents pending = pendingEvents();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            OutboxEvent event = new OutboxEvent(eventType, leaveRequest.getId(), leaveRequest.getEmployeeId());
+            LeaveEventDTO leaveEvent = new LeaveEventDTO(event, leaveRequest);
+            pending.events.add(new PendingEvent(event, leaveEvent));
+            eventPublisher.publishEvent(leaveEvent);
+        }
+    }
+
+    // One collector per transaction, registered as its synchronization so it is suspended with it
+    private PendingEvents pendingEvents() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending && pending.outbox() == this) {
+                return pending;
+            }
+        }
+        PendingEvents pending = new PendingEvents();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    // The caller's changes are flushed first, so every writer takes the employee rows last
+    private void write(List<PendingEvent> pending) {
+        outboxEventRepository.flush();
+        Map<Long, List<PendingEvent>> byEmployee = pending.stream().collect(Collectors.groupingBy(
+                event -> event.event().getEmployeeId(), LinkedHashMap::new, Collectors.toList()));
+        Map<Long, Long> lastSequences = employeeRepository.lockOutboxSequences(byEmployee.keySet()).stream()
+                .collect(Collectors.toMap(EmployeeRepository.OutboxSequence::getId,
+                        EmployeeRepository.OutboxSequence::getOutboxSequence));
+        // The rows are locked now, so the order of these UPDATEs no longer matters; one per distinct event count
+        byEmployee.entrySet().stream()
+                .filter(entry -> lastSequences.containsKey(entry.getKey()))
+                .collect(Collectors.groupingBy(entry -> entry.getValue().size(),
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((count, employeeIds) -> employeeRepository.advanceOutboxSequences(employeeIds, count));
+
+        List<OutboxEvent> events = new ArrayList<>(pending.size());
+        byEmployee.forEach((employeeId, employeeEvents) -> {
+            Long last = lastSequences.get(employeeId);
+            if (last == null) {
+                // Deleting an employee keeps their requests, which the rollover still expires; nobody is left to notify
+                log.warn("Dropping {} leave events of deleted employee {}", employeeEvents.size(), employeeId);
+                return;
+            }
+            long sequence = last;
+            for (PendingEvent event : employeeEvents) {
+                sequence++;
+                event.event().setEmployeeSequence(sequence);
+                event.leaveEvent().setEmployeeSequence(sequence);
+                event.event().setPayload(toJson(event.leaveEvent()));
+                events.add(event.event());
+            }
+        });
+        outboxEventRepository.saveAll(events);
+    }
+
+    private String toJson(LeaveEventDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize leave event for request " + event.getLeaveRequestId(), e);
+        }
+    }
+
+    private record PendingEvent(OutboxEvent event, LeaveEventDTO leaveEvent) {
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        final List<PendingEvent> events = new ArrayList<>();
+
+        LeaveEventOutbox outbox() {
+            return LeaveEventOutbox.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(events);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.model.OutboxEvent;
+
+/**
+ * A destination for outbox events, selected by {@link #name()} in {@code leave.outbox.sinks}.
+ * Delivery is at least once: an event is sent to every configured sink again when any of them
+ * throws, so sinks should tolerate an event they have already seen.
+ */
+public interface LeaveEventSink {
+
+    String name();
+
+    void deliver(OutboxEvent event) throws Exception;
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of PENDING and APPROVED leave ranges per employee, used to answer
+ * overlap checks without a database round trip. Falls back to
+ * {@link LeaveRequestRepository#findOverlappingApprovedLeaves} while disabled or not yet built.
+ * It can be rebuilt at any time: changes committed while the snapshot is read are replayed onto it.
+ * The index is local to this JVM, so it must stay disabled when several instances share a database.
+ */
+@Component
+public class LeaveIntervalIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveIntervalIndex.class);
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final boolean enabled;
+    private final boolean verify;
+
+    private final IndexState<Map<Long, EmployeeIntervals>> intervalsByEmployee = new IndexState<>(new ConcurrentHashMap<>());
+    private volatile boolean ready;
+
+    public LeaveIntervalIndex(LeaveRequestRepository leaveRequestRepository,
+                              @Value("${leave.overlap-index.enabled:false}") boolean enabled,
+                              @Value("${leave.overlap-index.verify:false}") boolean verify) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.enabled = enabled;
+        this.verify = verify;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, EmployeeIntervals> rebuilt = intervalsByEmployee.rebuild(() -> leaveRequestRepository.findByStatusIn(
+                EnumSet.of(LeaveRequest.LeaveStatus.PENDING, LeaveRequest.LeaveStatus.APPROVED)), leaveRequests -> {
+            Map<Long, EmployeeIntervals> built = new ConcurrentHashMap<>();
+            leaveRequests.forEach(leaveRequest -> add(built, leaveRequest));
+            return built;
+        });
+        ready = true;
+        log.info("Leave interval index built for {} employees", rebuilt.size());
+    }
+
+    public boolean hasOverlappingLeave(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        if (!enabled || !ready) {
+            return !leaveRequestRepository.findOverlappingApprovedLeaves(employeeId, startDate, endDate).isEmpty();
+        }
+
+        EmployeeIntervals intervals = intervalsByEmployee.get().get(employeeId);
+        boolean overlaps = intervals != null && intervals.overlaps(startDate.toEpochDay(), endDate.toEpochDay());
+        if (verify) {
+            boolean expected = !leaveRequestRepository.findOverlappingApprovedLeaves(employeeId, startDate, endDate).isEmpty();
+            if (overlaps != expected) {
+                log.warn("Leave interval index out of sync for employee {} ({} to {}): index={}, database={}",
+                        employeeId, startDate, endDate, overlaps, expected);
+                return expected;
+            }
+        }
+        return overlaps;
+    }
+
+    public void add(LeaveRequest leaveRequest) {
+        if (enabled) {
+            intervalsByEmployee.created(leaveRequest, byEmployee -> add(byEmployee, leaveRequest));
+        }
+    }
+
+    public void remove(LeaveRequest leaveRequest) {
+        if (enabled) {
+            intervalsByEmployee.changed(leaveRequest, byEmployee -> {
+                EmployeeIntervals intervals = byEmployee.get(leaveRequest.getEmployeeId());
+                if (intervals != null) {
+                    intervals.remove(leaveRequest);
+                }
+            });
+        }
+    }
+
+    private static void add(Map<Long, EmployeeIntervals> target, LeaveRequest leaveRequest) {
+        target.computeIfAbsent(leaveRequest.getEmployeeId(), id -> new EmployeeIntervals()).add(leaveRequest);
+    }
+
+    private record Interval(long id, long startEpochDay, long endEpochDay) {
+
+        static final Comparator<Interval> BY_START = Comparator.comparingLong(Interval::startEpochDay)
+                .thenComparingLong(Interval::id);
+
+        static Interval of(LeaveRequest leaveRequest) {
+            return new Interval(leaveRequest.getId(), leaveRequest.getStartDate().toEpochDay(),
+                    leaveRequest.getEndDate().toEpochDay());
+        }
+    }
+
+    // Intervals sorted by start day. Tracking the longest interval bounds the scan to those
+    // starting in [start - longest, end], which is O(log n) for the non-overlapping ranges
+    // the submit rules maintain.
+    private static final class EmployeeIntervals {
+
+        private final NavigableSet<Interval> intervals = new ConcurrentSkipListSet<>(Interval.BY_START);
+        private final AtomicLong longestSpan = new AtomicLong();
+
+        void add(LeaveRequest leaveRequest) {
+            Interval interval = Interval.of(leaveRequest);
+            longestSpan.accumulateAndGet(interval.endEpochDay() - interval.startEpochDay(), Math::max);
+            intervals.add(interval);
+        }
+
+        void remove(LeaveRequest leaveRequest) {
+            intervals.remove(Interval.of(leaveRequest));
+        }
+
+        boolean overlaps(long startEpochDay, long endEpochDay) {
+            Interval from = new Interval(Long.MIN_VALUE, startEpochDay - longestSpan.get(), 0);
+            Interval to = new Interval(Long.MAX_VALUE, endEpochDay, 0);
+            for (Interval interval : intervals.subSet(from, true, to, true)) {
+                if (interval.endEpochDay() >= startEpochDay) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
\ No newline at end of file
@@ -1,111 +1,298 @@
 package com.avi.leavemgmt.service;
 
+import com.avi.leavemgmt.dto.BatchItemResultDTO;
 import com.avi.leavemgmt.dto.LeaveRequestDTO;
+import com.avi.leavemgmt.dto.TeamCalendarDayDTO;
+import com.avi.leavemgmt.exception.BusinessRuleException;
+import com.avi.leavemgmt.exception.ForbiddenOperationException;
+import com.avi.leavemgmt.exception.LeaveManagementException;
+import com.avi.leavemgmt.exception.ResourceNotFoundException;
 import com.avi.leavemgmt.model.Employee;
 import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.model.OutboxEvent;
 import com.avi.leavemgmt.repository.EmployeeRepository;
 import com.avi.leavemgmt.repository.LeaveRequestRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @Transactional
+@Timed(value = "leave.service", description = "Service method latency")
 public class LeaveRequestService {
     
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final int IN_CLAUSE_CHUNK = 1000;
+    private static final String OVERLAP_MESSAGE = "Leave request overlaps with existing approved leave";
+    private static final String BALANCE_MESSAGE = "Requested leave days exceed available annual leave balance";
+    
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeRepository employeeRepository;
+    private final WorkingDayCalculator workingDayCalculator;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final TeamCalendarIndex teamCalendarIndex;
+    private final LeaveAnalyticsService leaveAnalyticsService;
+    private final OrgHierarchyIndex orgHierarchyIndex;
+    private final EmployeeNameCache employeeNameCache;
+    private final LeaveEventOutbox leaveEventOutbox;
+    private final Validator validator;
+    private final int maxBatchSize;
+    private final int maxCalendarDays;
+    private final boolean allowSkipLevel;
+    private final Timer dtoConversionTimer;
     
     @Autowired
     public LeaveRequestService(LeaveRequestRepository leaveRequestRepository, 
-                              EmployeeRepository employeeRepository) {
+                              EmployeeRepository employeeRepository,
+                              WorkingDayCalculator workingDayCalculator,
+                              LeaveIntervalIndex leaveIntervalIndex,
+                              TeamCalendarIndex teamCalendarIndex,
+                              LeaveAnalyticsService leaveAnalyticsService,
+                              OrgHierarchyIndex orgHierarchyIndex,
+                              EmployeeNameCache employeeNameCache,
+                              LeaveEventOutbox leaveEventOutbox,
+                              Validator validator,
+                              @Value("${leave.batch.max-size:5000}") int maxBatchSize,
+                              @Value("${leave.calendar.max-days:366}") int maxCalendarDays,
+                              @Value("${leave.approval.allow-skip-level:false}") boolean allowSkipLevel,
+                              MeterRegistry meterRegistry) {
         this.leaveRequestRepository = leaveRequestRepository;
         this.employeeRepository = employeeRepository;
+        this.workingDayCalculator = workingDayCalculator;
+        this.leaveIntervalIndex = leaveIntervalIndex;
+        this.teamCalendarIndex = teamCalendarIndex;
+        this.leaveAnalyticsService = leaveAnalyticsService;
+        this.orgHierarchyIndex = orgHierarchyIndex;
+        this.employeeNameCache = employeeNameCache;
+        this.leaveEventOutbox = leaveEventOutbox;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+        this.maxCalendarDays = maxCalendarDays;
+        this.allowSkipLevel = allowSkipLevel;
+        this.dtoConversionTimer = Timer.builder("leave.dto.conversion")
+                .description("Entity to LeaveRequestDTO conversion, including name lookups")
+                .register(meterRegistry);
     }
     
+    @Transactional(readOnly = true)
     public List<LeaveRequestDTO> getAllLeaveRequests() {
-        return leaveRequestRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return withWorkingDays(leaveRequestRepository.findAllAsDTOs());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<LeaveRequestDTO> getLeaveRequestsPage(Long after, int limit) {
+        return withWorkingDays(leaveRequestRepository.findDTOsAfter(
+                after != null ? after : 0L, PageRequest.of(0, limit)));
     }
     
+    @Transactional(readOnly = true)
+    public void streamLeaveRequests(Consumer<LeaveRequestDTO> consumer) {
+        Long after = 0L;
+        List<LeaveRequestDTO> batch;
+        do {
+            // Projections are never attached to the persistence context, so it stays empty between batches
+            batch = withWorkingDays(leaveRequestRepository.findDTOsAfter(after, PageRequest.of(0, STREAM_BATCH_SIZE)));
+            batch.forEach(consumer);
+            if (!batch.isEmpty()) {
+                after = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == STREAM_BATCH_SIZE);
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<LeaveRequestDTO> getLeaveRequestById(Long id) {
-        return leaveRequestRepository.findById(id)
-                .map(this::convertToDTO);
+        return leaveRequestRepository.findDTOById(id)
+                .map(this::withWorkingDays);
     }
     
+    @Transactional(readOnly = true)
     public List<LeaveRequestDTO> getLeaveRequestsByEmployeeId(Long employeeId) {
-        return leaveRequestRepository.findByEmployeeId(employeeId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return withWorkingDays(leaveRequestRepository.findDTOsByEmployeeId(employeeId));
     }
     
     public LeaveRequestDTO submitLeaveRequest(LeaveRequestDTO leaveRequestDTO) {
         // Validate employee exists
         Employee employee = employeeRepository.findById(leaveRequestDTO.getEmployeeId())
-                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + leaveRequestDTO.getEmployeeId()));
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + leaveRequestDTO.getEmployeeId()));
+        
+        validateDates(leaveRequestDTO, employee);
+        
+        // Check for overlapping approved leaves
+        if (leaveIntervalIndex.hasOverlappingLeave(leaveRequestDTO.getEmployeeId(),
+                leaveRequestDTO.getStartDate(), leaveRequestDTO.getEndDate())) {
+            throw new BusinessRuleException(OVERLAP_MESSAGE);
+        }
+        
+        validateBalance(leaveRequestDTO, employee);
+        
+        LeaveRequest leaveRequest = convertToEntity(leaveRequestDTO);
+        leaveRequest.setAppliedDate(LocalDate.now());
+        leaveRequest.setStatus(LeaveRequest.LeaveStatus.PENDING);
+        
+        LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        leaveEventOutbox.record(savedRequest, OutboxEvent.EventType.LEAVE_SUBMITTED);
+        TransactionCallbacks.afterCommit(() -> {
+            leaveIntervalIndex.add(savedRequest);
+            teamCalendarIndex.add(savedRequest);
+            leaveAnalyticsService.add(savedRequest, employee.getDepartment());
+        });
+        return convertToDTO(savedRequest);
+    }
+    
+    public List<BatchItemResultDTO> submitLeaveRequests(List<LeaveRequestDTO> leaveRequestDTOs) {
+        if (leaveRequestDTOs.size() > maxBatchSize) {
+            throw new BusinessRuleException("Batch size exceeds the maximum of " + maxBatchSize + " leave requests");
+        }
+        
+        BatchItemResultDTO[] results = new BatchItemResultDTO[leaveRequestDTOs.size()];
+        
+        // Bean validation first so the shared lookups only cover well-formed items
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < leaveRequestDTOs.size(); i++) {
+            LeaveRequestDTO dto = leaveRequestDTOs.get(i);
+            Set<ConstraintViolation<LeaveRequestDTO>> violations = dto == null ? Set.of() : validator.validate(dto);
+            if (dto == null) {
+                results[i] = BatchItemResultDTO.failure(i, null, "Leave request is required");
+            } else if (!violations.isEmpty()) {
+                results[i] = BatchItemResultDTO.failure(i, null, violations.iterator().next().getMessage());
+            } else {
+                candidates.add(i);
+            }
+        }
         
-        // Validate dates
+        // One employee fetch and one overlap query for the whole batch
+        Set<Long> employeeIds = new HashSet<>();
+        LocalDate earliestStart = null;
+        LocalDate latestEnd = null;
+        for (int i : candidates) {
+            LeaveRequestDTO dto = leaveRequestDTOs.get(i);
+            employeeIds.add(dto.getEmployeeId());
+            earliestStart = earliestStart == null || dto.getStartDate().isBefore(earliestStart) ? dto.getStartDate() : earliestStart;
+            latestEnd = latestEnd == null || dto.getEndDate().isAfter(latestEnd) ? dto.getEndDate() : latestEnd;
+        }
+        Map<Long, Employee> employees = new HashMap<>();
+        Map<Long, List<LeaveRequest>> activeLeaves = new HashMap<>();
+        if (!candidates.isEmpty()) {
+            employeeRepository.findAllById(employeeIds).forEach(employee -> employees.put(employee.getId(), employee));
+            for (LeaveRequest existing : leaveRequestRepository.findOverlappingApprovedLeavesForEmployees(
+                    employeeIds, earliestStart, latestEnd)) {
+                activeLeaves.computeIfAbsent(existing.getEmployeeId(), id -> new ArrayList<>()).add(existing);
+            }
+        }
+        
+        // Business rules per item; accepted items join the active set so later items see them
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<LeaveRequest> accepted = new ArrayList<>();
+        for (int i : candidates) {
+            LeaveRequestDTO dto = leaveRequestDTOs.get(i);
+            try {
+                Employee employee = employees.get(dto.getEmployeeId());
+                if (employee == null) {
+                    throw new ResourceNotFoundException("Employee not found with id: " + dto.getEmployeeId());
+                }
+                validateDates(dto, employee);
+                List<LeaveRequest> employeeLeaves = activeLeaves.computeIfAbsent(dto.getEmployeeId(), id -> new ArrayList<>());
+                for (LeaveRequest existing : employeeLeaves) {
+                    if (!existing.getStartDate().isAfter(dto.getEndDate()) && !existing.getEndDate().isBefore(dto.getStartDate())) {
+                        throw new BusinessRuleException(OVERLAP_MESSAGE);
+                    }
+                }
+                validateBalance(dto, employee);
+                
+                LeaveRequest leaveRequest = convertToEntity(dto);
+                leaveRequest.setAppliedDate(LocalDate.now());
+                leaveRequest.setStatus(LeaveRequest.LeaveStatus.PENDING);
+                employeeLeaves.add(leaveRequest);
+                acceptedIndexes.add(i);
+                accepted.add(leaveRequest);
+            } catch (LeaveManagementException e) {
+                results[i] = BatchItemResultDTO.failure(i, null, e.getMessage());
+            }
+        }
+        
+        // Sequence IDs let Hibernate send these as JDBC batches of hibernate.jdbc.batch_size
+        List<LeaveRequest> saved = leaveRequestRepository.saveAll(accepted);
+        leaveEventOutbox.recordAll(saved, OutboxEvent.EventType.LEAVE_SUBMITTED);
+        TransactionCallbacks.afterCommit(() -> saved.forEach(leaveRequest -> {
+            leaveIntervalIndex.add(leaveRequest);
+            teamCalendarIndex.add(leaveRequest);
+            leaveAnalyticsService.add(leaveRequest, employees.get(leaveRequest.getEmployeeId()).getDepartment());
+        }));
+        List<LeaveRequestDTO> savedDTOs = convertToDTOs(saved);
+        for (int i = 0; i < savedDTOs.size(); i++) {
+            results[acceptedIndexes.get(i)] = BatchItemResultDTO.success(acceptedIndexes.get(i), savedDTOs.get(i));
+        }
+        return Arrays.asList(results);
+    }
+    
+    private void validateDates(LeaveRequestDTO leaveRequestDTO, Employee employee) {
         if (leaveRequestDTO.getStartDate().isAfter(leaveRequestDTO.getEndDate())) {
-            throw new RuntimeException("Start date cannot be after end date");
+            throw new BusinessRuleException("Start date cannot be after end date");
         }
         
         if (leaveRequestDTO.getStartDate().isBefore(LocalDate.now())) {
-            throw new RuntimeException("Cannot apply for leave in the past");
+            throw new BusinessRuleException("Cannot apply for leave in the past");
         }
 
         // Validate start date must not be before joining date
         if (leaveRequestDTO.getStartDate().isBefore(employee.getJoiningDate())) {
-            throw new RuntimeException("Cannot apply for leave before joining date");
-        }
-        
-        // Check for overlapping approved leaves
-        List<LeaveRequest> overlappingLeaves = leaveRequestRepository.findOverlappingApprovedLeaves(
-                leaveRequestDTO.getEmployeeId(),
-                leaveRequestDTO.getStartDate(),
-                leaveRequestDTO.getEndDate()
-        );
-        
-        if (!overlappingLeaves.isEmpty()) {
-            throw new RuntimeException("Leave request overlaps with existing approved leave");
+            throw new BusinessRuleException("Cannot apply for leave before joining date");
         }
-
+    }
+    
+    private void validateBalance(LeaveRequestDTO leaveRequestDTO, Employee employee) {
         // Check available balance for ANNUAL leaves
-        long workingDays = calculateWorkingDays(leaveRequestDTO.getStartDate(), leaveRequestDTO.getEndDate());
+        long workingDays = workingDayCalculator.countWorkingDays(leaveRequestDTO.getStartDate(), leaveRequestDTO.getEndDate());
         if (leaveRequestDTO.getLeaveType() == com.avi.leavemgmt.model.LeaveType.ANNUAL) {
             if (employee.getAnnualLeaveBalance() == null || employee.getAnnualLeaveBalance() < workingDays) {
-                throw new RuntimeException("Requested leave days exceed available annual leave balance");
+                throw new BusinessRuleException(BALANCE_MESSAGE);
             }
         }
-        
-        LeaveRequest leaveRequest = convertToEntity(leaveRequestDTO);
-        leaveRequest.setAppliedDate(LocalDate.now());
-        leaveRequest.setStatus(LeaveRequest.LeaveStatus.PENDING);
-        
-        LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
-        return convertToDTO(savedRequest);
     }
     
+    // Concurrent approvals touching the same employee or request fail on the @Version check
+    // and are retried in a fresh transaction
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+               maxAttemptsExpression = "${leave.approval.max-attempts:5}",
+               backoff = @Backoff(delay = 20, multiplier = 2, random = true))
     public LeaveRequestDTO approveLeaveRequest(Long id, Long managerId, String comments) {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Leave request not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Leave request not found with id: " + id));
         
         if (leaveRequest.getStatus() != LeaveRequest.LeaveStatus.PENDING) {
-            throw new RuntimeException("Leave request is not in pending status");
+            throw new BusinessRuleException("Leave request is not in pending status");
         }
         
         // Validate manager has authority to approve this request
         Employee employee = employeeRepository.findById(leaveRequest.getEmployeeId())
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
         
-        if (!managerId.equals(employee.getManagerId())) {
-            throw new RuntimeException("Manager does not have authority to approve this leave request");
+        if (!hasAuthority(managerId, employee)) {
+            throw new ForbiddenOperationException("Manager does not have authority to approve this leave request");
         }
         
         leaveRequest.setStatus(LeaveRequest.LeaveStatus.APPROVED);
@@ -113,34 +300,43 @@ public class LeaveRequestService {
         leaveRequest.setApprovedDate(LocalDate.now());
         leaveRequest.setComments(comments);
 
-        // Deduct balance for ANNUAL leave upon approval
+        // Deduct balance for ANNUAL leave upon approval. Other pending requests may have been approved
+        // since this one was submitted; the @Version check makes this read the balance as of commit
         if (leaveRequest.getLeaveType() == com.avi.leavemgmt.model.LeaveType.ANNUAL) {
-            long workingDays = calculateWorkingDays(leaveRequest.getStartDate(), leaveRequest.getEndDate());
-            Employee emp = employeeRepository.findById(leaveRequest.getEmployeeId())
-                    .orElseThrow(() -> new RuntimeException("Employee not found"));
-            int remaining = Math.max(0, emp.getAnnualLeaveBalance() - (int) workingDays);
-            emp.setAnnualLeaveBalance(remaining);
-            employeeRepository.save(emp);
+            long workingDays = workingDayCalculator.countWorkingDays(leaveRequest.getStartDate(), leaveRequest.getEndDate());
+            if (employee.getAnnualLeaveBalance() == null || employee.getAnnualLeaveBalance() < workingDays) {
+                throw new BusinessRuleException(BALANCE_MESSAGE);
+            }
+            employee.setAnnualLeaveBalance(employee.getAnnualLeaveBalance() - (int) workingDays);
+            employeeRepository.save(employee);
         }
         
         LeaveRequest updatedRequest = leaveRequestRepository.save(leaveRequest);
+        leaveEventOutbox.record(updatedRequest, OutboxEvent.EventType.LEAVE_APPROVED);
+        TransactionCallbacks.afterCommit(() -> {
+            teamCalendarIndex.statusChanged(updatedRequest, LeaveRequest.LeaveStatus.PENDING);
+            leaveAnalyticsService.statusChanged(updatedRequest, LeaveRequest.LeaveStatus.PENDING);
+        });
         return convertToDTO(updatedRequest);
     }
     
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+               maxAttemptsExpression = "${leave.approval.max-attempts:5}",
+               backoff = @Backoff(delay = 20, multiplier = 2, random = true))
     public LeaveRequestDTO rejectLeaveRequest(Long id, Long managerId, String comments) {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Leave request not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Leave request not found with id: " + id));
         
         if (leaveRequest.getStatus() != LeaveRequest.LeaveStatus.PENDING) {
-            throw new RuntimeException("Leave request is not in pending status");
+            throw new BusinessRuleException("Leave request is not in pending status");
         }
         
         // Validate manager has authority to reject this request
         Employee employee = employeeRepository.findById(leaveRequest.getEmployeeId())
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
         
-        if (!managerId.equals(employee.getManagerId())) {
-            throw new RuntimeException("Manager does not have authority to reject this leave request");
+        if (!hasAuthority(managerId, employee)) {
+            throw new ForbiddenOperationException("Manager does not have authority to reject this leave request");
         }
         
         leaveRequest.setStatus(LeaveRequest.LeaveStatus.REJECTED);
@@ -149,31 +345,208 @@ public class LeaveRequestService {
         leaveRequest.setComments(comments);
         
         LeaveRequest updatedRequest = leaveRequestRepository.save(leaveRequest);
+        leaveEventOutbox.record(updatedRequest, OutboxEvent.EventType.LEAVE_REJECTED);
+        TransactionCallbacks.afterCommit(() -> {
+            leaveIntervalIndex.remove(updatedRequest);
+            teamCalendarIndex.statusChanged(updatedRequest, LeaveRequest.LeaveStatus.PENDING);
+            leaveAnalyticsService.statusChanged(updatedRequest, LeaveRequest.LeaveStatus.PENDING);
+        });
         return convertToDTO(updatedRequest);
     }
     
-    public List<LeaveRequestDTO> getLeaveRequestsForManager(Long managerId) {
-        return leaveRequestRepository.findByTeamMembersForManager(managerId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+               maxAttemptsExpression = "${leave.approval.max-attempts:5}",
+               backoff = @Backoff(delay = 20, multiplier = 2, random = true))
+    public List<BatchItemResultDTO> approveLeaveRequests(List<Long> ids, Long managerId, String comments) {
+        return decideLeaveRequests(ids, managerId, comments, LeaveRequest.LeaveStatus.APPROVED);
     }
     
-    private Long calculateWorkingDays(LocalDate startDate, LocalDate endDate) {
-        long workingDays = 0;
-        LocalDate currentDate = startDate;
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+               maxAttemptsExpression = "${leave.approval.max-attempts:5}",
+               backoff = @Backoff(delay = 20, multiplier = 2, random = true))
+    public List<BatchItemResultDTO> rejectLeaveRequests(List<Long> ids, Long managerId, String comments) {
+        return decideLeaveRequests(ids, managerId, comments, LeaveRequest.LeaveStatus.REJECTED);
+    }
+    
+    private List<BatchItemResultDTO> decideLeaveRequests(List<Long> ids, Long managerId, String comments,
+                                                         LeaveRequest.LeaveStatus decision) {
+        if (ids.size() > maxBatchSize) {
+            throw new BusinessRuleException("Batch size exceeds the maximum of " + maxBatchSize + " leave requests");
+        }
+        String action = decision == LeaveRequest.LeaveStatus.APPROVED ? "approve" : "reject";
+        
+        // Two queries: every requested leave request, then every affected employee
+        Map<Long, LeaveRequest> leaveRequests = new HashMap<>();
+        leaveRequestRepository.findAllById(ids).forEach(leaveRequest -> leaveRequests.put(leaveRequest.getId(), leaveRequest));
+        Set<Long> employeeIds = new HashSet<>();
+        leaveRequests.values().forEach(leaveRequest -> employeeIds.add(leaveRequest.getEmployeeId()));
+        Map<Long, Employee> employees = new HashMap<>();
+        employeeRepository.findAllById(employeeIds).forEach(employee -> employees.put(employee.getId(), employee));
         
-        while (!currentDate.isAfter(endDate)) {
-            DayOfWeek dayOfWeek = currentDate.getDayOfWeek();
-            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY) {
-                workingDays++;
+        BatchItemResultDTO[] results = new BatchItemResultDTO[ids.size()];
+        List<Integer> decidedIndexes = new ArrayList<>();
+        List<LeaveRequest> decided = new ArrayList<>();
+        Map<Long, Integer> remainingBalances = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            LeaveRequest leaveRequest = leaveRequests.get(id);
+            Employee employee = leaveRequest == null ? null : employees.get(leaveRequest.getEmployeeId());
+            if (!seen.add(id)) {
+                results[i] = BatchItemResultDTO.failure(i, id, "Duplicate leave request ID in batch");
+            } else if (leaveRequest == null) {
+                results[i] = BatchItemResultDTO.failure(i, id, "Leave request not found with id: " + id);
+            } else if (leaveRequest.getStatus() != LeaveRequest.LeaveStatus.PENDING) {
+                results[i] = BatchItemResultDTO.failure(i, id, "Leave request is not in pending status");
+            } else if (employee == null) {
+                results[i] = BatchItemResultDTO.failure(i, id, "Employee not found");
+            } else if (!hasAuthority(managerId, employee)) {
+                results[i] = BatchItemResultDTO.failure(i, id, "Manager does not have authority to " + action + " this leave request");
+            } else {
+                // Earlier approvals in this batch count against the same balance
+                if (decision == LeaveRequest.LeaveStatus.APPROVED
+                        && leaveRequest.getLeaveType() == com.avi.leavemgmt.model.LeaveType.ANNUAL) {
+                    long workingDays = workingDayCalculator.countWorkingDays(leaveRequest.getStartDate(), leaveRequest.getEndDate());
+                    Integer balance = remainingBalances.getOrDefault(employee.getId(), employee.getAnnualLeaveBalance());
+                    if (balance == null || balance < workingDays) {
+                        results[i] = BatchItemResultDTO.failure(i, id, BALANCE_MESSAGE);
+                        continue;
+                    }
+                    remainingBalances.put(employee.getId(), balance - (int) workingDays);
+                }
+                leaveRequest.setStatus(decision);
+                leaveRequest.setApprovedBy(managerId);
+                leaveRequest.setApprovedDate(LocalDate.now());
+                leaveRequest.setComments(comments);
+                decidedIndexes.add(i);
+                decided.add(leaveRequest);
             }
-            currentDate = currentDate.plusDays(1);
         }
         
-        return workingDays;
+        // One balance update per employee, however many of their requests were approved
+        remainingBalances.forEach((employeeId, balance) -> employees.get(employeeId).setAnnualLeaveBalance(balance));
+        
+        // Everything above is dirty-checked and written in a single flush
+        List<LeaveRequest> updated = leaveRequestRepository.saveAll(decided);
+        leaveEventOutbox.recordAll(updated, decision == LeaveRequest.LeaveStatus.APPROVED
+                ? OutboxEvent.EventType.LEAVE_APPROVED : OutboxEvent.EventType.LEAVE_REJECTED);
+        employeeRepository.flush();
+        TransactionCallbacks.afterCommit(() -> updated.forEach(leaveRequest -> {
+            if (decision == LeaveRequest.LeaveStatus.REJECTED) {
+                leaveIntervalIndex.remove(leaveRequest);
+            }
+            teamCalendarIndex.statusChanged(leaveRequest, LeaveRequest.LeaveStatus.PENDING);
+            leaveAnalyticsService.statusChanged(leaveRequest, LeaveRequest.LeaveStatus.PENDING);
+        }));
+        
+        List<LeaveRequestDTO> updatedDTOs = convertToDTOs(updated);
+        for (int i = 0; i < updatedDTOs.size(); i++) {
+            results[decidedIndexes.get(i)] = BatchItemResultDTO.success(decidedIndexes.get(i), updatedDTOs.get(i));
+        }
+        return Arrays.asList(results);
+    }
+    
+    // Direct manager, or with leave.approval.allow-skip-level anyone above them in the org tree
+    private boolean hasAuthority(Long managerId, Employee employee) {
+        return managerId.equals(employee.getManagerId())
+                || (allowSkipLevel && orgHierarchyIndex.isAbove(managerId, employee.getId()));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<LeaveRequestDTO> getLeaveRequestsForManager(Long managerId) {
+        return withWorkingDays(leaveRequestRepository.findDTOsForManager(managerId));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<LeaveRequestDTO> getLeaveRequestsForOrg(Long managerId) {
+        List<Long> subordinateIds = orgHierarchyIndex.getSubordinateIds(managerId, Integer.MAX_VALUE);
+        return withWorkingDays(findByEmployeeIdsInChunks(subordinateIds, leaveRequestRepository::findDTOsByEmployeeIdIn));
+    }
+    
+    // Starting state of a manager's live feed: the requests of their team still awaiting a decision
+    @Transactional(readOnly = true)
+    public List<LeaveRequestDTO> getPendingLeaveRequestsForManager(Long managerId, boolean transitive) {
+        if (!employeeRepository.existsById(managerId)) {
+            throw new ResourceNotFoundException("Employee not found with id: " + managerId);
+        }
+        if (!transitive) {
+            return withWorkingDays(leaveRequestRepository.findDTOsForManagerAndStatus(managerId,
+                    LeaveRequest.LeaveStatus.PENDING));
+        }
+        List<Long> subordinateIds = orgHierarchyIndex.getSubordinateIds(managerId, Integer.MAX_VALUE);
+        return withWorkingDays(findByEmployeeIdsInChunks(subordinateIds, chunk ->
+                leaveRequestRepository.findDTOsByEmployeeIdInAndStatus(chunk, LeaveRequest.LeaveStatus.PENDING)));
+    }
+    
+    private List<LeaveRequestDTO> findByEmployeeIdsInChunks(List<Long> employeeIds,
+                                                            Function<List<Long>, List<LeaveRequestDTO>> query) {
+        List<LeaveRequestDTO> leaveRequests = new ArrayList<>();
+        for (int from = 0; from < employeeIds.size(); from += IN_CLAUSE_CHUNK) {
+            leaveRequests.addAll(query.apply(employeeIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, employeeIds.size()))));
+        }
+        // Each chunk comes back in ID order; only several of them need merging
+        if (employeeIds.size() > IN_CLAUSE_CHUNK) {
+            leaveRequests.sort(Comparator.comparing(LeaveRequestDTO::getId));
+        }
+        return leaveRequests;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TeamCalendarDayDTO> getTeamCalendar(Long managerId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BusinessRuleException("End date cannot be before start date");
+        }
+        if (to.toEpochDay() - from.toEpochDay() + 1 > maxCalendarDays) {
+            throw new BusinessRuleException("Calendar range cannot exceed " + maxCalendarDays + " days");
+        }
+        
+        Map<Long, String> members = new LinkedHashMap<>();
+        employeeRepository.findDTOsByManagerId(managerId)
+                .forEach(member -> members.put(member.getId(), member.getName()));
+        return teamCalendarIndex.getCalendar(members, from, to);
+    }
+    
+    private List<LeaveRequestDTO> withWorkingDays(List<LeaveRequestDTO> dtos) {
+        dtos.forEach(this::withWorkingDays);
+        return dtos;
+    }
+    
+    private LeaveRequestDTO withWorkingDays(LeaveRequestDTO dto) {
+        dto.setWorkingDays(workingDayCalculator.countWorkingDays(dto.getStartDate(), dto.getEndDate()));
+        return dto;
     }
     
     private LeaveRequestDTO convertToDTO(LeaveRequest leaveRequest) {
+        return convertToDTOs(List.of(leaveRequest)).get(0);
+    }
+    
+    private List<LeaveRequestDTO> convertToDTOs(List<LeaveRequest> leaveRequests) {
+        return dtoConversionTimer.record(() -> mapToDTOs(leaveRequests));
+    }
+    
+    private List<LeaveRequestDTO> mapToDTOs(List<LeaveRequest> leaveRequests) {
+        if (leaveRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Resolve employee and approver names for the whole list, querying only cache misses
+        Set<Long> employeeIds = new HashSet<>();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            employeeIds.add(leaveRequest.getEmployeeId());
+            if (leaveRequest.getApprovedBy() != null) {
+                employeeIds.add(leaveRequest.getApprovedBy());
+            }
+        }
+        Map<Long, String> employeeNames = employeeNameCache.getNames(employeeIds);
+        
+        List<LeaveRequestDTO> dtos = new ArrayList<>(leaveRequests.size());
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            dtos.add(convertToDTO(leaveRequest, employeeNames));
+        }
+        return dtos;
+    }
+    
+    private LeaveRequestDTO convertToDTO(LeaveRequest leaveRequest, Map<Long, String> employeeNames) {
         LeaveRequestDTO dto = new LeaveRequestDTO();
         dto.setId(leaveRequest.getId());
         dto.setEmployeeId(leaveRequest.getEmployeeId());
@@ -188,24 +561,20 @@ public class LeaveRequestService {
         dto.setComments(leaveRequest.getComments());
         
         // Calculate working days
-        dto.setWorkingDays(calculateWorkingDays(leaveRequest.getStartDate(), leaveRequest.getEndDate()));
-        
-        // Set employee name
-        employeeRepository.findById(leaveRequest.getEmployeeId())
-                .ifPresent(employee -> dto.setEmployeeName(employee.getName()));
+        dto.setWorkingDays(workingDayCalculator.countWorkingDays(leaveRequest.getStartDate(), leaveRequest.getEndDate()));
         
-        // Set approver name
+        // Set employee and approver names
+        dto.setEmployeeName(employeeNames.get(leaveRequest.getEmployeeId()));
         if (leaveRequest.getApprovedBy() != null) {
-            employeeRepository.findById(leaveRequest.getApprovedBy())
-                    .ifPresent(approver -> dto.setApprovedByName(approver.getName()));
+            dto.setApprovedByName(employeeNames.get(leaveRequest.getApprovedBy()));
         }
         
         return dto;
     }
     
+    // Only used to create requests: a client-supplied ID is ignored, the sequence assigns one
     private LeaveRequest convertToEntity(LeaveRequestDTO dto) {
         LeaveRequest leaveRequest = new LeaveRequest();
-        leaveRequest.setId(dto.getId());
         leaveRequest.setEmployeeId(dto.getEmployeeId());
         leaveRequest.setLeaveType(dto.getLeaveType());
         leaveRequest.setStartDate(dto.getStartDate());
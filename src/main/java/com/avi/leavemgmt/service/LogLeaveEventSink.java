@@ -0,0 +1,25 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.model.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs each event at INFO; the default sink, for local runs and as an audit trail.
+ */
+@Component
+public class LogLeaveEventSink implements LeaveEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LogLeaveEventSink.class);
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(OutboxEvent event) {
+        log.info("Leave event {} {}: {}", event.getId(), event.getEventType(), event.getPayload());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,281 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The reporting tree built from {@code Employee.managerId}, laid out in depth-first order so that
+ * every subtree is a contiguous range of positions. "Is A above B" is then two binary searches
+ * and a range check, and a whole subtree is one array slice. Writes rebuild an immutable snapshot
+ * from the manager map under a lock; readers never block. Like {@link LeaveIntervalIndex} this is
+ * local to the JVM and walks the database one level per query while disabled or not yet built.
+ */
+@Component
+public class OrgHierarchyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OrgHierarchyIndex.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+
+    // Guarded by lock; the source every snapshot is built from
+    private final Map<Long, Long> managerByEmployee = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = Snapshot.of(Map.of());
+    private volatile boolean ready;
+
+    public OrgHierarchyIndex(EmployeeRepository employeeRepository,
+                             @Value("${leave.org-index.enabled:false}") boolean enabled) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            managerByEmployee.clear();
+            for (EmployeeRepository.ReportingLine line : employeeRepository.findAllReportingLines()) {
+                managerByEmployee.put(line.getId(), line.getManagerId());
+            }
+            snapshot = Snapshot.of(managerByEmployee);
+            ready = true;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Org hierarchy index built for {} employees", managerByEmployee.size());
+    }
+
+    public void put(Long employeeId, Long managerId) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            managerByEmployee.put(employeeId, managerId);
+            snapshot = Snapshot.of(managerByEmployee);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(Long employeeId) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            managerByEmployee.remove(employeeId);
+            snapshot = Snapshot.of(managerByEmployee);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether {@code managerId} is a direct or indirect manager of {@code employeeId}.
+     */
+    public boolean isAbove(Long managerId, Long employeeId) {
+        if (enabled && ready) {
+            return snapshot.isAbove(managerId, employeeId);
+        }
+
+        Set<Long> seen = new HashSet<>();
+        Long current = employeeId;
+        while (seen.add(current)) {
+            Optional<Long> manager = employeeRepository.findManagerIdById(current);
+            if (manager.isEmpty()) {
+                return false;
+            }
+            if (manager.get().equals(managerId)) {
+                return true;
+            }
+            current = manager.get();
+        }
+        return false;
+    }
+
+    /**
+     * IDs of everyone below {@code managerId}, at most {@code maxDepth} levels down, managers
+     * before their reports.
+     */
+    public List<Long> getSubordinateIds(Long managerId, int maxDepth) {
+        if (enabled && ready) {
+            return snapshot.below(managerId, maxDepth);
+        }
+
+        List<Long> subordinates = new ArrayList<>();
+        Set<Long> seen = new HashSet<>(Set.of(managerId));
+        Collection<Long> level = List.of(managerId);
+        for (int depth = 0; depth < maxDepth && !level.isEmpty(); depth++) {
+            List<Long> next = new ArrayList<>();
+            for (Long id : employeeRepository.findIdsByManagerIdIn(level)) {
+                if (seen.add(id)) {
+                    next.add(id);
+                }
+            }
+            subordinates.addAll(next);
+            level = next;
+        }
+        return subordinates;
+    }
+
+    /**
+     * Managers above {@code employeeId}, the direct manager first.
+     */
+    public List<Long> getManagerIds(Long employeeId) {
+        if (enabled && ready) {
+            return snapshot.above(employeeId);
+        }
+
+        List<Long> managers = new ArrayList<>();
+        Set<Long> seen = new HashSet<>(Set.of(employeeId));
+        Optional<Long> manager = employeeRepository.findManagerIdById(employeeId);
+        while (manager.isPresent() && seen.add(manager.get())) {
+            managers.add(manager.get());
+            manager = employeeRepository.findManagerIdById(manager.get());
+        }
+        return managers;
+    }
+
+    // Arrays indexed either by sorted-ID index or by depth-first position, as named
+    private record Snapshot(long[] sortedIds, int[] parentBySorted, int[] positionBySorted, long[] idByPosition,
+                            int[] subtreeEndByPosition, int[] depthByPosition) {
+
+        static Snapshot of(Map<Long, Long> managerByEmployee) {
+            int size = managerByEmployee.size();
+            long[] sortedIds = managerByEmployee.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+
+            // Children in CSR form, in ascending ID order; unknown or self managers make a root
+            int[] parent = new int[size];
+            int[] childStart = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                Long managerId = managerByEmployee.get(sortedIds[i]);
+                int p = managerId == null ? -1 : Arrays.binarySearch(sortedIds, managerId);
+                parent[i] = p < 0 || p == i ? -1 : p;
+                if (parent[i] >= 0) {
+                    childStart[parent[i] + 1]++;
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                childStart[i + 1] += childStart[i];
+            }
+            int[] children = new int[childStart[size]];
+            int[] fill = Arrays.copyOf(childStart, size);
+            for (int i = 0; i < size; i++) {
+                if (parent[i] >= 0) {
+                    children[fill[parent[i]]++] = i;
+                }
+            }
+
+            // Iterative depth-first walk from every root, then from anything left over, which
+            // can only be a cycle in the data and is cut open where the walk enters it
+            int[] positionBySorted = new int[size];
+            long[] idByPosition = new long[size];
+            int[] depthByPosition = new int[size];
+            boolean[] visited = new boolean[size];
+            int[] stack = new int[size];
+            int[] stackDepth = new int[size];
+            int position = 0;
+            for (int pass = 0; pass < 2; pass++) {
+                for (int start = 0; start < size; start++) {
+                    if (visited[start] || (pass == 0 && parent[start] >= 0)) {
+                        continue;
+                    }
+                    int top = 0;
+                    stack[0] = start;
+                    stackDepth[0] = 0;
+                    visited[start] = true;
+                    while (top >= 0) {
+                        int node = stack[top];
+                        int depth = stackDepth[top--];
+                        positionBySorted[node] = position;
+                        idByPosition[position] = sortedIds[node];
+                        depthByPosition[position++] = depth;
+                        // Pushed in reverse so the lowest ID is visited first
+                        for (int c = childStart[node + 1] - 1; c >= childStart[node]; c--) {
+                            if (!visited[children[c]]) {
+                                visited[children[c]] = true;
+                                stack[++top] = children[c];
+                                stackDepth[top] = depth + 1;
+                            }
+                        }
+                    }
+                }
+            }
+
+            // A subtree ends where the next position at the same or a shallower depth begins
+            int[] subtreeEndByPosition = new int[size];
+            int[] open = new int[size];
+            int openCount = 0;
+            for (int p = 0; p < size; p++) {
+                while (openCount > 0 && depthByPosition[open[openCount - 1]] >= depthByPosition[p]) {
+                    subtreeEndByPosition[open[--openCount]] = p;
+                }
+                open[openCount++] = p;
+            }
+            while (openCount > 0) {
+                subtreeEndByPosition[open[--openCount]] = size;
+            }
+            return new Snapshot(sortedIds, parent, positionBySorted, idByPosition, subtreeEndByPosition, depthByPosition);
+        }
+
+        boolean isAbove(long managerId, long employeeId) {
+            int managerPosition = positionOf(managerId);
+            int employeePosition = positionOf(employeeId);
+            return managerPosition >= 0 && employeePosition > managerPosition
+                    && employeePosition < subtreeEndByPosition[managerPosition];
+        }
+
+        List<Long> below(long managerId, int maxDepth) {
+            int managerPosition = positionOf(managerId);
+            if (managerPosition < 0) {
+                return List.of();
+            }
+            long deepest = (long) depthByPosition[managerPosition] + maxDepth;
+            List<Long> subordinates = new ArrayList<>();
+            for (int p = managerPosition + 1; p < subtreeEndByPosition[managerPosition]; p++) {
+                if (depthByPosition[p] <= deepest) {
+                    subordinates.add(idByPosition[p]);
+                }
+            }
+            return subordinates;
+        }
+
+        List<Long> above(long employeeId) {
+            int index = Arrays.binarySearch(sortedIds, employeeId);
+            List<Long> managers = new ArrayList<>();
+            // Bounded by the size in case the data holds a reporting cycle
+            for (int p = index < 0 ? -1 : parentBySorted[index]; p >= 0 && managers.size() < sortedIds.length;
+                 p = parentBySorted[p]) {
+                managers.add(sortedIds[p]);
+            }
+            return managers;
+        }
+
+        private int positionOf(long id) {
+            int index = Arrays.binarySearch(sortedIds, id);
+            return index < 0 ? -1 : positionBySorted[index];
+        }
+    }
+}
\ No newline at end of file
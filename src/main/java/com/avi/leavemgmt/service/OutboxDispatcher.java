@@ -0,0 +1,170 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.model.OutboxEvent;
+import com.avi.leavemgmt.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drains the outbox in batches of {@code leave.outbox.batch-size}, each employee's events in the
+ * order their transactions committed ({@code employee_sequence}), and hands each event to the
+ * sinks named in {@code leave.outbox.sinks}. Sinks are called outside any
+ * transaction, and a batch's deliveries are then marked with one UPDATE. A failed event is
+ * retried with exponential backoff, and the employee's later events wait behind it, so every
+ * employee's events arrive in order. After {@code leave.outbox.max-attempts} it is marked FAILED
+ * and their queue moves on. Deliveries from several dispatchers would interleave, so enable
+ * {@code leave.outbox.dispatcher-enabled} on one instance only.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<LeaveEventSink> sinks;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final Timer lagTimer;
+    private final Counter dispatchedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            PlatformTransactionManager transactionManager,
+                            List<LeaveEventSink> availableSinks,
+                            MeterRegistry meterRegistry,
+                            @Value("${leave.outbox.dispatcher-enabled:false}") boolean enabled,
+                            @Value("${leave.outbox.sinks:log}") List<String> sinkNames,
+                            @Value("${leave.outbox.batch-size:100}") int batchSize,
+                            @Value("${leave.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${leave.outbox.backoff-ms:1000}") long backoffMillis,
+                            @Value("${leave.outbox.max-backoff-ms:60000}") long maxBackoffMillis,
+                            @Value("${leave.outbox.retention-days:7}") int retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sinks = sinkNames.stream()
+                .map(name -> availableSinks.stream().filter(sink -> sink.name().equals(name)).findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Unknown leave event sink: " + name)))
+                .toList();
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = Duration.ofMillis(backoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        this.retention = Duration.ofDays(retentionDays);
+        this.lagTimer = Timer.builder("leave.outbox.lag")
+                .description("Time from writing an outbox event to delivering it to every sink")
+                .register(meterRegistry);
+        this.dispatchedCounter = outcomeCounter(meterRegistry, "dispatched");
+        this.retriedCounter = outcomeCounter(meterRegistry, "retried");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        Gauge.builder("leave.outbox.backlog", outboxEventRepository,
+                        repository -> repository.countByStatus(OutboxEvent.Status.PENDING))
+                .description("Outbox events not yet delivered")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${leave.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        // Keep draining while batches come back full, so a burst is not spread over many polls
+        int fetched;
+        do {
+            fetched = dispatchBatch();
+        } while (fetched == batchSize && !Thread.currentThread().isInterrupted());
+    }
+
+    @Scheduled(cron = "${leave.outbox.purge-cron:0 15 2 * * *}")
+    public void purgeDispatched() {
+        if (!enabled) {
+            return;
+        }
+        int purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteDispatchedBefore(LocalDateTime.now().minus(retention)));
+        log.info("Purged {} delivered outbox events older than {} days", purged, retention.toDays());
+    }
+
+    // Returns the number of events fetched, delivered or not
+    private int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findDeliverable(now, PageRequest.of(0, batchSize));
+        List<Long> dispatched = new ArrayList<>(events.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        Set<Long> blockedEmployees = new HashSet<>();
+        for (OutboxEvent event : events) {
+            if (blockedEmployees.contains(event.getEmployeeId())) {
+                continue;
+            }
+            try {
+                for (LeaveEventSink sink : sinks) {
+                    sink.deliver(event);
+                }
+                dispatched.add(event.getId());
+                lagTimer.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                blockedEmployees.add(event.getEmployeeId());
+                boolean giveUp = event.getAttempts() + 1 >= maxAttempts;
+                event.failedAttempt(e.toString(), now.plus(backoffAfter(event.getAttempts() + 1)), giveUp);
+                failed.add(event);
+                if (giveUp) {
+                    log.error("Giving up on outbox event {} after {} attempts: {}", event.getId(), event.getAttempts(),
+                            e.toString());
+                } else {
+                    log.warn("Outbox event {} failed on attempt {}, retrying at {}: {}", event.getId(), event.getAttempts(),
+                            event.getNextAttemptAt(), e.toString());
+                }
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!dispatched.isEmpty()) {
+                outboxEventRepository.markDispatched(dispatched, LocalDateTime.now());
+            }
+            outboxEventRepository.saveAll(failed);
+        });
+        dispatchedCounter.increment(dispatched.size());
+        for (OutboxEvent event : failed) {
+            (event.getStatus() == OutboxEvent.Status.FAILED ? failedCounter : retriedCounter).increment();
+        }
+        return events.size();
+    }
+
+    private Duration backoffAfter(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("leave.outbox.events")
+                .description("Outbox delivery attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.dto.TeamCalendarDayDTO;
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Day buckets of PENDING and APPROVED leave: one pair of bitsets per employee and year,
+ * with a bit per working day of the year. A team calendar is then a scan over the set bits
+ * of each member instead of an expansion of every leave request. Bitsets are copy-on-write,
+ * so readers never see a half-applied update. Like {@link LeaveIntervalIndex} this is local
+ * to the JVM, falls back to the database while disabled or not yet built, and replays the changes
+ * committed while a rebuild reads its snapshot.
+ */
+@Component
+public class TeamCalendarIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamCalendarIndex.class);
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final WorkingDayCalculator workingDayCalculator;
+    private final boolean enabled;
+
+    private final IndexState<Map<Long, Map<Integer, YearDays>>> daysByEmployee = new IndexState<>(new ConcurrentHashMap<>());
+    private volatile boolean ready;
+
+    public TeamCalendarIndex(LeaveRequestRepository leaveRequestRepository,
+                             WorkingDayCalculator workingDayCalculator,
+                             @Value("${leave.calendar-index.enabled:false}") boolean enabled) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.workingDayCalculator = workingDayCalculator;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Map<Integer, YearDays>> rebuilt = daysByEmployee.rebuild(() -> leaveRequestRepository.findByStatusIn(
+                EnumSet.of(LeaveRequest.LeaveStatus.PENDING, LeaveRequest.LeaveStatus.APPROVED)), leaveRequests -> {
+            Map<Long, Map<Integer, YearDays>> built = new ConcurrentHashMap<>();
+            leaveRequests.forEach(leaveRequest -> mark(built, leaveRequest, leaveRequest.getStatus(), true));
+            return built;
+        });
+        ready = true;
+        log.info("Team calendar index built for {} employees", rebuilt.size());
+    }
+
+    public void add(LeaveRequest leaveRequest) {
+        if (enabled) {
+            daysByEmployee.created(leaveRequest, days -> mark(days, leaveRequest, leaveRequest.getStatus(), true));
+        }
+    }
+
+    // Moves the request's days from the bucket of its previous status to that of its current one
+    public void statusChanged(LeaveRequest leaveRequest, LeaveRequest.LeaveStatus previousStatus) {
+        if (enabled) {
+            daysByEmployee.changed(leaveRequest, days -> {
+                mark(days, leaveRequest, previousStatus, false);
+                mark(days, leaveRequest, leaveRequest.getStatus(), true);
+            });
+        }
+    }
+
+    /**
+     * One entry per day in [from, to] listing which of the given team members are on approved
+     * or pending leave. {@code members} maps employee ID to name, in the order names should appear.
+     */
+    public List<TeamCalendarDayDTO> getCalendar(Map<Long, String> members, LocalDate from, LocalDate to) {
+        Map<Long, Map<Integer, YearDays>> source = enabled && ready ? daysByEmployee.get() : loadFromDatabase(members, from, to);
+
+        List<TeamCalendarDayDTO> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            days.add(new TeamCalendarDayDTO(date, workingDayCalculator.isWorkingDay(date)));
+        }
+
+        long fromEpochDay = from.toEpochDay();
+        members.forEach((employeeId, name) -> {
+            Map<Integer, YearDays> years = source.get(employeeId);
+            if (years == null) {
+                return;
+            }
+            for (int year = from.getYear(); year <= to.getYear(); year++) {
+                YearDays yearDays = years.get(year);
+                if (yearDays == null) {
+                    continue;
+                }
+                LocalDate firstOfYear = LocalDate.ofYearDay(year, 1);
+                int first = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+                int last = year == to.getYear() ? to.getDayOfYear() - 1 : firstOfYear.lengthOfYear() - 1;
+                int offset = (int) (firstOfYear.toEpochDay() - fromEpochDay);
+                for (int day = yearDays.approved().nextSetBit(first); day >= 0 && day <= last; day = yearDays.approved().nextSetBit(day + 1)) {
+                    days.get(offset + day).getAbsentEmployees().add(name);
+                }
+                for (int day = yearDays.pending().nextSetBit(first); day >= 0 && day <= last; day = yearDays.pending().nextSetBit(day + 1)) {
+                    days.get(offset + day).getPendingEmployees().add(name);
+                }
+            }
+        });
+        return days;
+    }
+
+    private Map<Long, Map<Integer, YearDays>> loadFromDatabase(Map<Long, String> members, LocalDate from, LocalDate to) {
+        Map<Long, Map<Integer, YearDays>> loaded = new ConcurrentHashMap<>();
+        if (!members.isEmpty()) {
+            for (LeaveRequest leaveRequest : leaveRequestRepository.findOverlappingApprovedLeavesForEmployees(
+                    members.keySet(), from, to)) {
+                mark(loaded, leaveRequest, leaveRequest.getStatus(), true);
+            }
+        }
+        return loaded;
+    }
+
+    private void mark(Map<Long, Map<Integer, YearDays>> target, LeaveRequest leaveRequest,
+                      LeaveRequest.LeaveStatus status, boolean value) {
+        if (status != LeaveRequest.LeaveStatus.PENDING && status != LeaveRequest.LeaveStatus.APPROVED) {
+            return;
+        }
+        Map<Integer, YearDays> years = target.computeIfAbsent(leaveRequest.getEmployeeId(), id -> new ConcurrentHashMap<>());
+        LocalDate startDate = leaveRequest.getStartDate();
+        LocalDate endDate = leaveRequest.getEndDate();
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            LocalDate first = year == startDate.getYear() ? startDate : LocalDate.ofYearDay(year, 1);
+            LocalDate last = year == endDate.getYear() ? endDate : LocalDate.of(year, 12, 31);
+            BitSet bits = new BitSet();
+            for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+                if (workingDayCalculator.isWorkingDay(date)) {
+                    bits.set(date.getDayOfYear() - 1);
+                }
+            }
+            years.compute(year, (key, current) -> (current != null ? current : YearDays.EMPTY).with(status, bits, value));
+        }
+    }
+
+    // Immutable once published; updates replace the whole record
+    private record YearDays(BitSet approved, BitSet pending) {
+
+        static final YearDays EMPTY = new YearDays(new BitSet(), new BitSet());
+
+        YearDays with(LeaveRequest.LeaveStatus status, BitSet bits, boolean value) {
+            BitSet target = (BitSet) (status == LeaveRequest.LeaveStatus.APPROVED ? approved : pending).clone();
+            if (value) {
+                target.or(bits);
+            } else {
+                target.andNot(bits);
+            }
+            return status == LeaveRequest.LeaveStatus.APPROVED ? new YearDays(target, pending) : new YearDays(approved, target);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.avi.leavemgmt.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counts working days (Monday to Friday, excluding configured public holidays)
+ * in constant time for the weekday part and O(log h) for the holiday part.
+ */
+@Component
+public class WorkingDayCalculator {
+
+    // Sorted epoch days of holidays that fall on a weekday
+    private final long[] holidayEpochDays;
+
+    public WorkingDayCalculator(@Value("${leave.holidays:}") List<String> holidays) {
+        this.holidayEpochDays = holidays.stream()
+                .filter(holiday -> !holiday.isBlank())
+                .map(holiday -> LocalDate.parse(holiday.trim()))
+                .filter(WorkingDayCalculator::isWeekday)
+                .mapToLong(LocalDate::toEpochDay)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    public long countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        long startEpochDay = startDate.toEpochDay();
+        long endEpochDay = endDate.toEpochDay();
+        if (startEpochDay > endEpochDay) {
+            return 0;
+        }
+        return countWeekdays(startEpochDay, endEpochDay) - countHolidays(startEpochDay, endEpochDay);
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return isWeekday(date) && Arrays.binarySearch(holidayEpochDays, date.toEpochDay()) < 0;
+    }
+
+    private static long countWeekdays(long startEpochDay, long endEpochDay) {
+        long totalDays = endEpochDay - startEpochDay + 1;
+        long weekdays = (totalDays / 7) * 5;
+
+        // Remaining partial week: at most six days starting on the start date's weekday
+        int remainder = (int) (totalDays % 7);
+        int startDayOfWeek = dayOfWeekIndex(startEpochDay);
+        for (int i = 0; i < remainder; i++) {
+            if ((startDayOfWeek + i) % 7 < 5) {
+                weekdays++;
+            }
+        }
+        return weekdays;
+    }
+
+    private long countHolidays(long startEpochDay, long endEpochDay) {
+        return lowerBound(endEpochDay + 1) - lowerBound(startEpochDay);
+    }
+
+    // Index of the first holiday on or after the given epoch day
+    private int lowerBound(long epochDay) {
+        int low = 0;
+        int high = holidayEpochDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (holidayEpochDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // 0 = Monday ... 6 = Sunday; epoch day 0 (1970-01-01) was a Thursday
+    private static int dayOfWeekIndex(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+    private static boolean isWeekday(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
+    }
+}
\ No newline at end of file
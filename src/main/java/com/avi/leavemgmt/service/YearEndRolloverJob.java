@@ -0,0 +1,318 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.dto.BalanceChangeDTO;
+import com.avi.leavemgmt.dto.JobRunDTO;
+import com.avi.leavemgmt.dto.RolloverPreviewDTO;
+import com.avi.leavemgmt.exception.BusinessRuleException;
+import com.avi.leavemgmt.exception.ResourceNotFoundException;
+import com.avi.leavemgmt.model.JobCheckpoint;
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.model.OutboxEvent;
+import com.avi.leavemgmt.repository.EmployeeRepository;
+import com.avi.leavemgmt.repository.JobCheckpointRepository;
+import com.avi.leavemgmt.repository.LeaveRequestRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Year-end rollover: caps each balance at {@code leave.rollover.max-carry-forward}, adds
+ * {@code leave.rollover.annual-entitlement} and expires the PENDING requests that start in the
+ * ended year. Employees are split into one ID range per worker on the first run of a year, and
+ * the ranges run in parallel on {@code leave.rollover.workers} threads. Within a range, each
+ * chunk of {@code leave.rollover.chunk-size} employees expires its locked PENDING requests and
+ * updates the balances with one set-based UPDATE, committed together with the range's checkpoint,
+ * so a failed run resumes where each range stopped. Every expired request gets a
+ * {@code LEAVE_EXPIRED} outbox event in its chunk's transaction and is taken out of the in-memory
+ * indexes once that commits. A year can only be rolled over once it has ended, if
+ * an employee had joined by its end, and if it is not older than the first year rolled over.
+ */
+@Service
+public class YearEndRolloverJob {
+
+    public static final String JOB_NAME = "year-end-rollover";
+
+    private static final Logger log = LoggerFactory.getLogger(YearEndRolloverJob.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final TeamCalendarIndex teamCalendarIndex;
+    private final LeaveAnalyticsService leaveAnalyticsService;
+    private final LeaveEventOutbox leaveEventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final JobTimer jobTimer;
+    private final boolean enabled;
+    private final boolean accrualEnabled;
+    private final int workers;
+    private final int chunkSize;
+    private final int maxCarryForward;
+    private final int entitlement;
+
+    public YearEndRolloverJob(EmployeeRepository employeeRepository,
+                              LeaveRequestRepository leaveRequestRepository,
+                              JobCheckpointRepository jobCheckpointRepository,
+                              LeaveIntervalIndex leaveIntervalIndex,
+                              TeamCalendarIndex teamCalendarIndex,
+                              LeaveAnalyticsService leaveAnalyticsService,
+                              LeaveEventOutbox leaveEventOutbox,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${leave.rollover.enabled:false}") boolean enabled,
+                              @Value("${leave.accrual.enabled:false}") boolean accrualEnabled,
+                              @Value("${leave.rollover.workers:4}") int workers,
+                              @Value("${leave.rollover.chunk-size:1000}") int chunkSize,
+                              @Value("${leave.rollover.max-carry-forward:10}") int maxCarryForward,
+                              @Value("${leave.rollover.annual-entitlement:0}") int entitlement) {
+        this.employeeRepository = employeeRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.leaveIntervalIndex = leaveIntervalIndex;
+        this.teamCalendarIndex = teamCalendarIndex;
+        this.leaveAnalyticsService = leaveAnalyticsService;
+        this.leaveEventOutbox = leaveEventOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobTimer = new JobTimer(meterRegistry, JOB_NAME);
+        this.enabled = enabled;
+        this.accrualEnabled = accrualEnabled;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        this.maxCarryForward = maxCarryForward;
+        this.entitlement = entitlement;
+    }
+
+    @Scheduled(cron = "${leave.rollover.cron:0 0 3 1 1 *}")
+    public void rollOverPreviousYear() {
+        if (enabled) {
+            rollOver(Year.now().minusYears(1));
+        }
+    }
+
+    public JobRunDTO rollOver(Year year) {
+        return jobTimer.record(() -> run(year));
+    }
+
+    private JobRunDTO run(Year year) {
+        if (!year.isBefore(Year.now())) {
+            throw new BusinessRuleException("The year-end rollover can only run for years that have ended");
+        }
+        if (employeeRepository.findEarliestJoiningDate().filter(year.atMonth(12).atEndOfMonth()::isBefore).isPresent()) {
+            throw new BusinessRuleException("No employee had joined by the end of " + year);
+        }
+        Optional<JobCheckpoint> first = jobCheckpointRepository.findFirstByJobNameOrderByPeriodAsc(JOB_NAME);
+        if (first.isPresent() && year.isBefore(Year.parse(first.get().getPeriod()))) {
+            throw new BusinessRuleException("The year-end rollover started with " + first.get().getPeriod()
+                    + ", earlier years can no longer be rolled over");
+        }
+        // Once leave is accrued, on schedule or by hand, December's accrual must land before the
+        // cap, or it would be carried forward uncapped
+        String december = year.atMonth(12).toString();
+        boolean accrued = accrualEnabled
+                || jobCheckpointRepository.findFirstByJobNameOrderByPeriodAsc(LeaveAccrualJob.JOB_NAME).isPresent();
+        if (accrued && jobCheckpointRepository
+                .findByJobNameAndPeriodAndPartitionNo(LeaveAccrualJob.JOB_NAME, december, 0)
+                .filter(JobCheckpoint::isCompleted)
+                .isEmpty()) {
+            throw new BusinessRuleException("The leave accrual for " + december + " must complete before the rollover");
+        }
+        long started = System.nanoTime();
+        List<JobCheckpoint> partitions = transactionTemplate.execute(status -> {
+            List<JobCheckpoint> existing = jobCheckpointRepository.findByJobNameAndPeriodOrderByPartitionNo(
+                    JOB_NAME, year.toString());
+            return existing.isEmpty() ? jobCheckpointRepository.saveAll(partition(year, employeeRepository.findMaxId()))
+                    : existing;
+        });
+        List<JobCheckpoint> remaining = partitions.stream().filter(partition -> !partition.isCompleted()).toList();
+        if (remaining.isEmpty()) {
+            log.info("Year-end rollover for {} already completed, skipping", year);
+            return toRun(year, partitions, 0, 0);
+        }
+
+        LocalDate yearEnd = year.atMonth(12).atEndOfMonth();
+        PartitionResult total = new PartitionResult(0, 0);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(workers, remaining.size()),
+                new CustomizableThreadFactory("year-end-rollover-"));
+        try {
+            List<Future<PartitionResult>> results = new ArrayList<>();
+            for (JobCheckpoint partition : remaining) {
+                results.add(pool.submit(() -> runPartition(year, yearEnd, partition)));
+            }
+            // Wait for every range so the ones that succeeded are all checkpointed, then report the first failure
+            RuntimeException failure = null;
+            for (Future<PartitionResult> result : results) {
+                try {
+                    total = total.plus(result.get());
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException cause
+                                ? cause : new IllegalStateException(e.getCause());
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Year-end rollover for " + year + " was interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // The partitions loaded above are stale: the workers committed their progress in their own sessions
+        long previousRows = partitions.stream().mapToLong(JobCheckpoint::getRowsProcessed).sum();
+        JobRunDTO run = new JobRunDTO(JOB_NAME, year.toString(), JobCheckpoint.JobStatus.COMPLETED.name(),
+                total.employees(), previousRows + total.employees(), System.nanoTime() - started);
+        log.info("Year-end rollover for {}: {} employees and {} expired requests on {} workers in {} ms ({} rows/s)",
+                year, total.employees(), total.requestsExpired(), Math.min(workers, remaining.size()),
+                run.getElapsedMillis(), Math.round(run.getRowsPerSecond()));
+        return run;
+    }
+
+    public JobRunDTO getRun(Year year) {
+        List<JobCheckpoint> partitions = jobCheckpointRepository.findByJobNameAndPeriodOrderByPartitionNo(
+                JOB_NAME, year.toString());
+        if (partitions.isEmpty()) {
+            throw new ResourceNotFoundException("No year-end rollover run for " + year);
+        }
+        LocalDateTime startedAt = partitions.stream().map(JobCheckpoint::getStartedAt)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime updatedAt = partitions.stream().map(JobCheckpoint::getUpdatedAt)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        long rows = partitions.stream().mapToLong(JobCheckpoint::getRowsProcessed).sum();
+        return toRun(year, partitions, rows, Duration.between(startedAt, updatedAt).toNanos());
+    }
+
+    /**
+     * Dry run: the balances and expiries the rollover would apply, without writing anything.
+     * Employees in ranges an interrupted run already committed are left out.
+     */
+    public RolloverPreviewDTO preview(Year year) {
+        long started = System.nanoTime();
+        LocalDate yearEnd = year.atMonth(12).atEndOfMonth();
+        List<JobCheckpoint> partitions = jobCheckpointRepository.findByJobNameAndPeriodOrderByPartitionNo(
+                JOB_NAME, year.toString());
+        Map<Long, Long> pendingByEmployee = leaveRequestRepository.countPendingRequestsStartingBy(yearEnd).stream()
+                .collect(Collectors.toMap(LeaveRequestRepository.EmployeeCount::getEmployeeId,
+                        LeaveRequestRepository.EmployeeCount::getCount));
+
+        List<BalanceChangeDTO> changes = employeeRepository.findLeaveBalancesJoinedBy(yearEnd).parallelStream()
+                .filter(balance -> isPending(partitions, balance.getId()))
+                .map(balance -> new BalanceChangeDTO(balance.getId(), balance.getAnnualLeaveBalance(),
+                        Math.min(balance.getAnnualLeaveBalance(), maxCarryForward) + entitlement,
+                        pendingByEmployee.getOrDefault(balance.getId(), 0L)))
+                .filter(change -> change.getProjectedBalance() != change.getCurrentBalance()
+                        || change.getRequestsToExpire() > 0)
+                .sorted(Comparator.comparing(BalanceChangeDTO::getEmployeeId))
+                .toList();
+        long daysForfeited = changes.parallelStream()
+                .mapToLong(change -> Math.max(0, change.getCurrentBalance() - maxCarryForward))
+                .sum();
+        long requestsToExpire = changes.parallelStream().mapToLong(BalanceChangeDTO::getRequestsToExpire).sum();
+        return new RolloverPreviewDTO(year.toString(), changes, daysForfeited, (long) entitlement * changes.size(),
+                requestsToExpire, System.nanoTime() - started);
+    }
+
+    // Contiguous ranges of about maxId / workers IDs; IDs above maxId joined after the run began
+    private List<JobCheckpoint> partition(Year year, long maxId) {
+        int count = (int) Math.max(1, Math.min(workers, maxId));
+        long size = (maxId + count - 1) / count;
+        List<JobCheckpoint> partitions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            partitions.add(new JobCheckpoint(JOB_NAME, year.toString(), i, i * size, Math.min((i + 1) * size, maxId)));
+        }
+        return partitions;
+    }
+
+    private PartitionResult runPartition(Year year, LocalDate yearEnd, JobCheckpoint partition) {
+        PartitionResult total = new PartitionResult(0, 0);
+        long afterId = partition.getLastId();
+        while (afterId < partition.getEndId()) {
+            long from = afterId;
+            long upTo = Math.min(from + chunkSize, partition.getEndId());
+            total = total.plus(transactionTemplate.execute(status -> {
+                // Leave requests before employees, in the same order as an approval
+                List<LeaveRequest> expired = leaveRequestRepository.findPendingRequestsToExpire(from, upTo, yearEnd);
+                expired.forEach(leaveRequest -> leaveRequest.setStatus(LeaveRequest.LeaveStatus.EXPIRED));
+                int updated = employeeRepository.rollOverLeaveBalances(from, upTo, yearEnd, maxCarryForward, entitlement);
+                publishExpiry(expired);
+                JobCheckpoint current = jobCheckpointRepository.findById(partition.getId()).orElseThrow();
+                if (current.getLastId() != from) {
+                    throw new OptimisticLockingFailureException("Year-end rollover for " + year + " is running elsewhere");
+                }
+                current.advance(upTo, updated);
+                return new PartitionResult(updated, expired.size());
+            }));
+            afterId = upTo;
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                jobCheckpointRepository.findById(partition.getId()).orElseThrow().complete());
+        return total;
+    }
+
+    // Feeds and sinks drop the expired requests from their pending lists, and the indexes stop
+    // treating them as blocking overlapping requests or as pending days
+    private void publishExpiry(List<LeaveRequest> expired) {
+        if (expired.isEmpty()) {
+            return;
+        }
+        leaveEventOutbox.recordAll(expired, OutboxEvent.EventType.LEAVE_EXPIRED);
+        TransactionCallbacks.afterCommit(() -> expired.forEach(leaveRequest -> {
+            leaveIntervalIndex.remove(leaveRequest);
+            teamCalendarIndex.statusChanged(leaveRequest, LeaveRequest.LeaveStatus.PENDING);
+            leaveAnalyticsService.statusChanged(leaveRequest, LeaveRequest.LeaveStatus.PENDING);
+        }));
+    }
+
+    private static boolean isPending(List<JobCheckpoint> partitions, long employeeId) {
+        if (partitions.isEmpty()) {
+            return true;
+        }
+        long afterId = 0;
+        for (JobCheckpoint partition : partitions) {
+            if (employeeId > afterId && employeeId <= partition.getEndId()) {
+                return employeeId > partition.getLastId();
+            }
+            afterId = partition.getEndId();
+        }
+        return false;
+    }
+
+    private static JobRunDTO toRun(Year year, List<JobCheckpoint> partitions, long rows, long elapsedNanos) {
+        boolean completed = partitions.stream().allMatch(JobCheckpoint::isCompleted);
+        long totalRows = partitions.stream().mapToLong(JobCheckpoint::getRowsProcessed).sum();
+        return new JobRunDTO(JOB_NAME, year.toString(),
+                (completed ? JobCheckpoint.JobStatus.COMPLETED : JobCheckpoint.JobStatus.RUNNING).name(),
+                rows, totalRows, elapsedNanos);
+    }
+
+    private record PartitionResult(long employees, long requestsExpired) {
+
+        PartitionResult plus(PartitionResult other) {
+            return new PartitionResult(employees + other.employees, requestsExpired + other.requestsExpired);
+        }
+    }
+}
\ No newline at end of file
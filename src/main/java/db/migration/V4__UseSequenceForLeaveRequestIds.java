@@ -0,0 +1,31 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Switches leave_requests.id from an identity column to a sequence so Hibernate can batch inserts.
+ * Written in Java because the sequence has to start after the existing rows, which plain SQL
+ * cannot express portably across H2 and PostgreSQL.
+ */
+public class V4__UseSequenceForLeaveRequestIds extends BaseJavaMigration {
+
+    // Must match the allocationSize of the sequence generator on LeaveRequest
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long nextId;
+            try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM leave_requests")) {
+                resultSet.next();
+                nextId = resultSet.getLong(1);
+            }
+            statement.execute("ALTER TABLE leave_requests ALTER COLUMN id DROP IDENTITY");
+            statement.execute("CREATE SEQUENCE leave_requests_seq START WITH " + nextId + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+-- Per-employee outbox sequence. Outbox IDs come from pooled sequence blocks, so with several
+-- instances they do not follow commit order; each event instead takes the next number of its
+-- employee's counter, whose row lock orders writers for the same employee by commit.
+
+ALTER TABLE employees ADD COLUMN outbox_sequence BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE outbox_events ADD COLUMN employee_sequence BIGINT;
+
+-- Existing events keep their ID order within each employee
+UPDATE outbox_events o SET employee_sequence =
+    (SELECT COUNT(*) FROM outbox_events p WHERE p.employee_id = o.employee_id AND p.id <= o.id);
+
+UPDATE employees e SET outbox_sequence =
+    COALESCE((SELECT MAX(o.employee_sequence) FROM outbox_events o WHERE o.employee_id = e.id), 0);
+
+ALTER TABLE outbox_events ALTER COLUMN employee_sequence SET NOT NULL;
+
+-- The dispatcher's scan of undelivered events in sequence order
+CREATE INDEX idx_outbox_events_status_sequence ON outbox_events (status, employee_sequence, id);
@@ -0,0 +1,29 @@
+-- Initial schema for employees and leave requests
+
+CREATE TABLE employees (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                 VARCHAR(100) NOT NULL,
+    email                VARCHAR(100) NOT NULL,
+    department           VARCHAR(50)  NOT NULL,
+    role                 VARCHAR(50)  NOT NULL,
+    manager_id           BIGINT,
+    joining_date         DATE         NOT NULL,
+    annual_leave_balance INTEGER      NOT NULL,
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
+
+CREATE TABLE leave_requests (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id  BIGINT       NOT NULL,
+    leave_type   VARCHAR(20)  NOT NULL,
+    start_date   DATE         NOT NULL,
+    end_date     DATE         NOT NULL,
+    reason       VARCHAR(500) NOT NULL,
+    status       VARCHAR(20)  NOT NULL,
+    applied_date DATE         NOT NULL,
+    approved_by  BIGINT,
+    approved_date DATE,
+    comments     VARCHAR(255),
+    CONSTRAINT chk_leave_requests_leave_type CHECK (leave_type IN ('SICK', 'CASUAL', 'ANNUAL')),
+    CONSTRAINT chk_leave_requests_status CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED'))
+);
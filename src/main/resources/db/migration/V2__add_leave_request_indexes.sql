@@ -0,0 +1,14 @@
+-- Indexes for the hot leave request predicates
+
+-- findByEmployeeId, findByEmployeeIdAndStatus and findOverlappingApprovedLeaves
+CREATE INDEX idx_leave_requests_employee_status_dates
+    ON leave_requests (employee_id, status, start_date, end_date);
+
+-- findByStatus
+CREATE INDEX idx_leave_requests_status ON leave_requests (status);
+
+-- findByDateRange
+CREATE INDEX idx_leave_requests_dates ON leave_requests (start_date, end_date);
+
+-- findByManagerId, findTeamMembers and the team sub-query of findByTeamMembersForManager
+CREATE INDEX idx_employees_manager_id ON employees (manager_id);
@@ -0,0 +1,5 @@
+-- Optimistic locking columns for concurrent approvals and employee updates
+
+ALTER TABLE employees ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE leave_requests ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
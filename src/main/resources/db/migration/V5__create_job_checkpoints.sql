@@ -0,0 +1,17 @@
+-- Progress of restartable batch jobs such as the monthly leave accrual. One row per job, period
+-- and partition; last_id is the highest employee ID whose chunk has committed.
+
+CREATE TABLE job_checkpoints (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_name       VARCHAR(50) NOT NULL,
+    period         VARCHAR(20) NOT NULL,
+    partition_no   INTEGER     NOT NULL,
+    last_id        BIGINT      NOT NULL,
+    rows_processed BIGINT      NOT NULL,
+    status         VARCHAR(20) NOT NULL,
+    started_at     TIMESTAMP   NOT NULL,
+    updated_at     TIMESTAMP   NOT NULL,
+    version        BIGINT      DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_job_checkpoints_job_period_partition UNIQUE (job_name, period, partition_no),
+    CONSTRAINT chk_job_checkpoints_status CHECK (status IN ('RUNNING', 'COMPLETED'))
+);
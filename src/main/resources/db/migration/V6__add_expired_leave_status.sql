@@ -0,0 +1,6 @@
+-- EXPIRED: pending requests that were never decided before the year-end rollover
+
+ALTER TABLE leave_requests DROP CONSTRAINT chk_leave_requests_status;
+
+ALTER TABLE leave_requests ADD CONSTRAINT chk_leave_requests_status
+    CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED', 'EXPIRED'));
@@ -0,0 +1,4 @@
+-- Upper bound of a partitioned job's employee ID range, fixed on its first run so a resumed
+-- run covers the same ranges. NULL for jobs that run as a single partition up to the highest ID.
+
+ALTER TABLE job_checkpoints ADD COLUMN end_id BIGINT;
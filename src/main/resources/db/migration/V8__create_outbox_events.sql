@@ -0,0 +1,23 @@
+-- Leave lifecycle events, written in the same transaction as the change they describe and
+-- delivered to the configured sinks by OutboxDispatcher. Sequence IDs keep inserts batchable.
+
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_events (
+    id               BIGINT        PRIMARY KEY,
+    event_type       VARCHAR(30)   NOT NULL,
+    leave_request_id BIGINT        NOT NULL,
+    employee_id      BIGINT        NOT NULL,
+    payload          VARCHAR(4000) NOT NULL,
+    status           VARCHAR(20)   NOT NULL,
+    attempts         INTEGER       NOT NULL,
+    created_at       TIMESTAMP     NOT NULL,
+    next_attempt_at  TIMESTAMP     NOT NULL,
+    dispatched_at    TIMESTAMP,
+    last_error       VARCHAR(500),
+    CONSTRAINT chk_outbox_events_event_type CHECK (event_type IN ('LEAVE_SUBMITTED', 'LEAVE_APPROVED', 'LEAVE_REJECTED')),
+    CONSTRAINT chk_outbox_events_status CHECK (status IN ('PENDING', 'DISPATCHED', 'FAILED'))
+);
+
+-- The dispatcher's scan of undelivered events in ID order, and the purge of delivered ones
+CREATE INDEX idx_outbox_events_status_id ON outbox_events (status, id);
@@ -0,0 +1,6 @@
+-- LEAVE_EXPIRED: pending requests the year-end rollover expired, so feeds and sinks stop showing them as pending
+
+ALTER TABLE outbox_events DROP CONSTRAINT chk_outbox_events_event_type;
+
+ALTER TABLE outbox_events ADD CONSTRAINT chk_outbox_events_event_type
+    CHECK (event_type IN ('LEAVE_SUBMITTED', 'LEAVE_APPROVED', 'LEAVE_REJECTED', 'LEAVE_EXPIRED'));
@@ -0,0 +1,115 @@
+package com.avi.leavemgmt.controller;
+
+import com.avi.leavemgmt.dto.EmployeeDTO;
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.model.LeaveType;
+import com.avi.leavemgmt.repository.LeaveRequestRepository;
+import com.avi.leavemgmt.service.EmployeeService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements behind each list endpoint, as recorded in the
+ * {@code http.server.requests.queries} summary, and checks it stays the same when the team
+ * and its leave requests grow.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ListEndpointQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    private EmployeeDTO manager;
+    private EmployeeDTO firstReport;
+
+    // Employees go through the service so the org hierarchy index sees them
+    @BeforeEach
+    void createTeam() {
+        manager = employeeService.createEmployee(employee(null));
+        firstReport = addReports(1);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "/api/leave-requests,                              /api/leave-requests,                              1",
+            "/api/leave-requests?limit=500,                    /api/leave-requests,                              1",
+            "/api/leave-requests/employee/{employee},          /api/leave-requests/employee/{employeeId},        1",
+            "/api/leave-requests/manager/{manager},            /api/leave-requests/manager/{managerId},          1",
+            "/api/leave-requests/manager/{manager}?transitive=true, /api/leave-requests/manager/{managerId},     1",
+            "/api/employees,                                   /api/employees,                                   1",
+            "/api/employees/team/{manager},                    /api/employees/team/{managerId},                  1"
+    })
+    void statementCountDoesNotGrowWithRows(String url, String pattern, int expectedQueries) throws Exception {
+        String resolved = url.replace("{manager}", manager.getId().toString())
+                .replace("{employee}", firstReport.getId().toString());
+
+        assertThat(queriesFor(resolved, pattern)).isEqualTo(expectedQueries);
+        addReports(25);
+        assertThat(queriesFor(resolved, pattern)).isEqualTo(expectedQueries);
+    }
+
+    private int queriesFor(String url, String pattern) throws Exception {
+        DistributionSummary summary = meterRegistry.find("http.server.requests.queries")
+                .tags("method", "GET", "uri", pattern)
+                .summary();
+        double before = summary == null ? 0 : summary.totalAmount();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        summary = meterRegistry.get("http.server.requests.queries").tags("method", "GET", "uri", pattern).summary();
+        return (int) (summary.totalAmount() - before);
+    }
+
+    // Each report gets one decided request with an approver and one pending request
+    private EmployeeDTO addReports(int count) {
+        EmployeeDTO first = null;
+        for (int i = 0; i < count; i++) {
+            EmployeeDTO report = employeeService.createEmployee(employee(manager.getId()));
+            LeaveRequest approved = new LeaveRequest(report.getId(), LeaveType.SICK,
+                    LocalDate.of(2024, 5, 6), LocalDate.of(2024, 5, 7), "Seeded for query counting");
+            approved.setStatus(LeaveRequest.LeaveStatus.APPROVED);
+            approved.setApprovedBy(manager.getId());
+            approved.setApprovedDate(LocalDate.of(2024, 5, 1));
+            LeaveRequest pending = new LeaveRequest(report.getId(), LeaveType.CASUAL,
+                    LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 3), "Seeded for query counting");
+            pending.setStatus(LeaveRequest.LeaveStatus.PENDING);
+            leaveRequestRepository.saveAll(List.of(approved, pending));
+            first = first == null ? report : first;
+        }
+        return first;
+    }
+
+    private static EmployeeDTO employee(Long managerId) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        EmployeeDTO employee = new EmployeeDTO(null, "Query Count " + suffix, "qc-" + suffix + "@company.com",
+                "Engineering", "Developer", managerId);
+        employee.setJoiningDate(LocalDate.of(2023, 1, 1));
+        employee.setAnnualLeaveBalance(20);
+        return employee;
+    }
+}
@@ -0,0 +1,180 @@
+package com.avi.leavemgmt.repository;
+
+import com.avi.leavemgmt.model.LeaveRequest;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hot {@link LeaveRequestRepository} queries, captures the SQL Hibernate actually sends
+ * through the datasource-proxy wrapper, and checks H2's {@code EXPLAIN} plan for it: each must
+ * use the indexes from the V2 migration and none may scan a whole table or index. Plans depend on
+ * statistics, so the suite runs on its own database seeded with a realistic spread of rows and
+ * analyzed once.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:explain")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LeaveRequestRepositoryExplainTest {
+
+    // An index comment without a condition, e.g. /* PUBLIC.PRIMARY_KEY_A */, reads every row
+    private static final Pattern FULL_SCAN = Pattern.compile("/\\* PUBLIC\\.[A-Z0-9_]+(\\.TABLESCAN)? \\*/");
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+    private static final String EMPLOYEE_STATUS_DATES = "IDX_LEAVE_REQUESTS_EMPLOYEE_STATUS_DATES";
+    private static final String MANAGER_ID = "IDX_EMPLOYEES_MANAGER_ID";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    private final StatementCaptor captor = new StatementCaptor();
+
+    @BeforeAll
+    void seedAndAnalyze() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO employees (name, email, department, role, manager_id, joining_date, " +
+                "annual_leave_balance, version) SELECT 'Explain ' || X, 'explain-' || X || '@company.com', 'Engineering', " +
+                "'Developer', MOD(X, 200) + 1, DATE '2023-01-01', 20, 0 FROM SYSTEM_RANGE(1, 2000)");
+        jdbcTemplate.update("INSERT INTO leave_requests (id, employee_id, leave_type, start_date, end_date, reason, " +
+                "status, applied_date, version) SELECT 1000000 + X, MOD(X, 2000) + 1, 'CASUAL', " +
+                "DATEADD(DAY, MOD(X, 700), DATE '2024-01-01'), DATEADD(DAY, MOD(X, 700) + 1, DATE '2024-01-01'), " +
+                "'Seeded for EXPLAIN', CASE MOD(X, 3) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END, " +
+                "DATE '2024-01-01', 0 FROM SYSTEM_RANGE(1, 30000)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @BeforeEach
+    void captureStatements() {
+        // Only present while leave.slow-query.enabled wraps the pool, as it does by default
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(captor);
+    }
+
+    @AfterEach
+    void stopCapturing() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(captor);
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                query("findByEmployeeId", repository -> repository.findByEmployeeId(2L), EMPLOYEE_STATUS_DATES),
+                query("findByEmployeeIdAndStatus", repository -> repository.findByEmployeeIdAndStatus(2L,
+                        LeaveRequest.LeaveStatus.PENDING), EMPLOYEE_STATUS_DATES),
+                query("findByStatus", repository -> repository.findByStatus(LeaveRequest.LeaveStatus.PENDING),
+                        "IDX_LEAVE_REQUESTS_STATUS"),
+                query("findOverlappingApprovedLeaves", repository -> repository.findOverlappingApprovedLeaves(2L, FROM, TO),
+                        EMPLOYEE_STATUS_DATES),
+                query("findOverlappingApprovedLeavesForEmployees", repository ->
+                        repository.findOverlappingApprovedLeavesForEmployees(List.of(2L, 3L), FROM, TO), EMPLOYEE_STATUS_DATES),
+                query("findByTeamMembersForManager", repository -> repository.findByTeamMembersForManager(1L),
+                        MANAGER_ID, EMPLOYEE_STATUS_DATES),
+                query("findByDateRange", repository -> repository.findByDateRange(FROM, TO), "IDX_LEAVE_REQUESTS_DATES"),
+                query("findDTOsByEmployeeId", repository -> repository.findDTOsByEmployeeId(2L), EMPLOYEE_STATUS_DATES),
+                query("findDTOsForManager", repository -> repository.findDTOsForManager(1L), MANAGER_ID, EMPLOYEE_STATUS_DATES),
+                query("findDTOsForManagerAndStatus", repository -> repository.findDTOsForManagerAndStatus(1L,
+                        LeaveRequest.LeaveStatus.PENDING), MANAGER_ID, EMPLOYEE_STATUS_DATES),
+                query("findDTOsByEmployeeIdIn", repository -> repository.findDTOsByEmployeeIdIn(List.of(2L, 3L)),
+                        EMPLOYEE_STATUS_DATES),
+                query("findDTOsByEmployeeIdInAndStatus", repository -> repository.findDTOsByEmployeeIdInAndStatus(
+                        List.of(2L, 3L), LeaveRequest.LeaveStatus.PENDING), EMPLOYEE_STATUS_DATES),
+                query("findDTOsAfter", repository -> repository.findDTOsAfter(3L, PageRequest.of(0, 50)), "PRIMARY_KEY"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void usesIndexes(String name, Consumer<LeaveRequestRepository> call, List<String> expectedIndexes) throws Exception {
+        captor.start();
+        call.accept(leaveRequestRepository);
+        QueryInfo query = captor.stop();
+
+        String plan = explain(query).toUpperCase();
+        assertThat(plan).as(name + " plan:%n%s", plan).doesNotContainPattern(FULL_SCAN);
+        for (String index : expectedIndexes) {
+            assertThat(plan).as(name + " plan:%n%s", plan).contains(index);
+        }
+    }
+
+    private String explain(QueryInfo query) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.getQuery())) {
+            if (!query.getParametersList().isEmpty()) {
+                for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+                    Object[] args = operation.getArgs();
+                    statement.setObject((Integer) args[0], args[1]);
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private static Arguments query(String name, Consumer<LeaveRequestRepository> call, String... expectedIndexes) {
+        return Arguments.of(name, call, List.of(expectedIndexes));
+    }
+
+    // Keeps the last SELECT issued on the test thread, ignoring scheduled jobs on other threads
+    private static final class StatementCaptor implements QueryExecutionListener {
+
+        private volatile Thread thread;
+        private volatile QueryInfo last;
+
+        void start() {
+            last = null;
+            thread = Thread.currentThread();
+        }
+
+        QueryInfo stop() {
+            thread = null;
+            assertThat(last).as("no SELECT captured").isNotNull();
+            return last;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (Thread.currentThread() != thread) {
+                return;
+            }
+            for (QueryInfo queryInfo : queryInfoList) {
+                if (queryInfo.getQuery().stripLeading().toLowerCase().startsWith("select")) {
+                    last = queryInfo;
+                }
+            }
+        }
+    }
+}
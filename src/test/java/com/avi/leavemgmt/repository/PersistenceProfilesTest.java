@@ -0,0 +1,188 @@
+package com.avi.leavemgmt.repository;
+
+import com.avi.leavemgmt.dto.EmployeeDTO;
+import com.avi.leavemgmt.dto.LeaveRequestDTO;
+import com.avi.leavemgmt.dto.TeamCalendarDayDTO;
+import com.avi.leavemgmt.exception.BusinessRuleException;
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.model.LeaveType;
+import com.avi.leavemgmt.model.OutboxEvent;
+import com.avi.leavemgmt.service.EmployeeService;
+import com.avi.leavemgmt.service.LeaveAccrualJob;
+import com.avi.leavemgmt.service.LeaveRequestService;
+import com.avi.leavemgmt.service.YearEndRolloverJob;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs the Flyway migrations and the core leave flows against both durable storage profiles
+ * without an external database: {@code h2file} on an H2 file under {@code target}, and
+ * {@code postgres} on H2 in PostgreSQL compatibility mode, where the in-memory indexes are off so
+ * overlap checks, team queries and the calendar all go to the database. Each profile gets its own
+ * context and an empty database, and Hibernate validates the entities against the migrated schema
+ * on startup.
+ */
+class PersistenceProfilesTest {
+
+    @Nested
+    @ActiveProfiles("h2file")
+    @TestPropertySource(properties = "LEAVE_DATA_DIR=./target/persistence-profiles-${random.uuid}")
+    class H2File extends CoreFlows {
+    }
+
+    @Nested
+    @ActiveProfiles("postgres")
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:postgres-mode;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=password"
+    })
+    class PostgreSqlMode extends CoreFlows {
+    }
+
+    @SpringBootTest
+    @ActiveProfiles("test")
+    abstract class CoreFlows {
+
+        @Autowired
+        private Flyway flyway;
+
+        @Autowired
+        private EmployeeService employeeService;
+
+        @Autowired
+        private LeaveRequestService leaveRequestService;
+
+        @Autowired
+        private LeaveRequestRepository leaveRequestRepository;
+
+        @Autowired
+        private OutboxEventRepository outboxEventRepository;
+
+        @Autowired
+        private LeaveAccrualJob leaveAccrualJob;
+
+        @Autowired
+        private YearEndRolloverJob yearEndRolloverJob;
+
+        @Value("${leave.rollover.max-carry-forward}")
+        private int maxCarryForward;
+
+        @Test
+        void appliesEveryMigration() {
+            assertThat(flyway.info().pending()).isEmpty();
+            assertThat(flyway.info().all()).extracting(MigrationInfo::getState).containsOnly(MigrationState.SUCCESS);
+        }
+
+        @Test
+        void submitsAndDecidesLeave() {
+            EmployeeDTO manager = employeeService.createEmployee(employee(null));
+            EmployeeDTO report = employeeService.createEmployee(employee(manager.getId()));
+            LocalDate monday = LocalDate.now().plusWeeks(4).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+            LeaveRequestDTO approved = submit(report, monday, monday.plusDays(1));
+            LeaveRequestDTO rejected = submit(report, monday.plusWeeks(1), monday.plusWeeks(1));
+            leaveRequestService.approveLeaveRequest(approved.getId(), manager.getId(), "Enjoy the time off");
+            leaveRequestService.rejectLeaveRequest(rejected.getId(), manager.getId(), "Release week, sorry");
+
+            assertThatThrownBy(() -> submit(report, monday.plusDays(1), monday.plusDays(2)))
+                    .isInstanceOf(BusinessRuleException.class)
+                    .hasMessage("Leave request overlaps with existing approved leave");
+            assertThat(employeeService.getEmployeeById(report.getId()).orElseThrow().getAnnualLeaveBalance())
+                    .isEqualTo(18);
+            assertThat(leaveRequestService.getLeaveRequestsForManager(manager.getId()))
+                    .extracting(LeaveRequestDTO::getId, LeaveRequestDTO::getStatus)
+                    .containsExactly(
+                            tuple(approved.getId(), LeaveRequest.LeaveStatus.APPROVED),
+                            tuple(rejected.getId(), LeaveRequest.LeaveStatus.REJECTED));
+            assertThat(leaveRequestService.getPendingLeaveRequestsForManager(manager.getId(), false)).isEmpty();
+            assertThat(leaveRequestService.getTeamCalendar(manager.getId(), monday, monday.plusDays(2)))
+                    .extracting(TeamCalendarDayDTO::getAbsentCount)
+                    .containsExactly(1, 1, 0);
+            assertThat(leaveRequestService.getLeaveRequestsPage(approved.getId() - 1, 1))
+                    .extracting(LeaveRequestDTO::getId)
+                    .containsExactly(approved.getId());
+
+            List<OutboxEvent> events = events(report);
+            assertThat(events).extracting(OutboxEvent::getEventType).containsExactly(
+                    OutboxEvent.EventType.LEAVE_SUBMITTED, OutboxEvent.EventType.LEAVE_SUBMITTED,
+                    OutboxEvent.EventType.LEAVE_APPROVED, OutboxEvent.EventType.LEAVE_REJECTED);
+            assertThat(events).extracting(OutboxEvent::getEmployeeSequence).containsExactly(1L, 2L, 3L, 4L);
+        }
+
+        @Test
+        void accruesAndRollsOverTheYear() {
+            Year lastYear = Year.now().minusYears(1);
+            // Deleting an employee keeps their requests, so the rollover expires one with no employee row
+            EmployeeDTO leaver = employeeService.createEmployee(employee(null));
+            LeaveRequest leftBehind = pendingRequest(leaver, lastYear);
+            employeeService.deleteEmployee(leaver.getId());
+            EmployeeDTO employee = employeeService.createEmployee(employee(null));
+            LeaveRequest forgotten = pendingRequest(employee, lastYear);
+
+            leaveAccrualJob.accrue(lastYear.atMonth(12));
+            yearEndRolloverJob.rollOver(lastYear);
+
+            assertThat(employeeService.getEmployeeById(employee.getId()).orElseThrow().getAnnualLeaveBalance())
+                    .isEqualTo(maxCarryForward);
+            assertThat(leaveRequestRepository.findById(forgotten.getId()).orElseThrow().getStatus())
+                    .isEqualTo(LeaveRequest.LeaveStatus.EXPIRED);
+            assertThat(events(employee)).extracting(OutboxEvent::getEventType, OutboxEvent::getLeaveRequestId)
+                    .containsExactly(tuple(OutboxEvent.EventType.LEAVE_EXPIRED, forgotten.getId()));
+            assertThat(leaveRequestRepository.findById(leftBehind.getId()).orElseThrow().getStatus())
+                    .isEqualTo(LeaveRequest.LeaveStatus.EXPIRED);
+            assertThat(events(leaver)).isEmpty();
+        }
+
+        // Submission only takes future dates, so a request left pending last year is saved directly
+        private LeaveRequest pendingRequest(EmployeeDTO employee, Year year) {
+            LeaveRequest leaveRequest = new LeaveRequest(employee.getId(), LeaveType.CASUAL, year.atDay(100),
+                    year.atDay(100), "Never decided by the manager");
+            leaveRequest.setStatus(LeaveRequest.LeaveStatus.PENDING);
+            return leaveRequestRepository.save(leaveRequest);
+        }
+
+        // The test profile turns the dispatcher off, so every event is still pending
+        private List<OutboxEvent> events(EmployeeDTO employee) {
+            return outboxEventRepository.findDeliverable(LocalDateTime.now(), PageRequest.of(0, 100)).stream()
+                    .filter(event -> event.getEmployeeId().equals(employee.getId()))
+                    .toList();
+        }
+
+        private LeaveRequestDTO submit(EmployeeDTO employee, LocalDate startDate, LocalDate endDate) {
+            return leaveRequestService.submitLeaveRequest(new LeaveRequestDTO(null, employee.getId(), LeaveType.ANNUAL,
+                    startDate, endDate, "Persistence profile check", null));
+        }
+
+        private static EmployeeDTO employee(Long managerId) {
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+            EmployeeDTO employee = new EmployeeDTO(null, "Profile " + suffix, "profile-" + suffix + "@company.com",
+                    "Engineering", "Developer", managerId);
+            employee.setJoiningDate(LocalDate.of(2023, 1, 1));
+            employee.setAnnualLeaveBalance(20);
+            return employee;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.dto.EmployeeDTO;
+import com.avi.leavemgmt.dto.LeaveRequestDTO;
+import com.avi.leavemgmt.exception.BusinessRuleException;
+import com.avi.leavemgmt.model.LeaveRequest;
+import com.avi.leavemgmt.model.LeaveType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Approves more ANNUAL leave than the employees have from many threads at once, each request
+ * twice, while other threads rewrite the same employees through read-modify-write updates. No
+ * global lock is involved: every balance must end non-negative, equal to its starting value minus
+ * the approved days, and used up as far as the requests allow. Retries are raised so contention
+ * alone never turns an approval into a failure.
+ */
+@SpringBootTest(properties = "leave.approval.max-attempts=50")
+@ActiveProfiles("test")
+class ConcurrentApprovalStressTest {
+
+    private static final int EMPLOYEES = 3;
+    private static final int REQUESTS_PER_EMPLOYEE = 8;
+    private static final int DAYS_PER_REQUEST = 2;
+    // Room for four of the eight requests, with one day left over
+    private static final int BALANCE = 9;
+    private static final int UPDATES_PER_EMPLOYEE = 5;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    void concurrentApprovalsNeverOverdrawTheBalance() throws Exception {
+        EmployeeDTO manager = employeeService.createEmployee(employee(null));
+        LocalDate firstMonday = LocalDate.now().plusDays(30).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        List<Long> employeeIds = new ArrayList<>();
+        List<Long> requestIds = new ArrayList<>();
+        for (int e = 0; e < EMPLOYEES; e++) {
+            Long employeeId = employeeService.createEmployee(employee(manager.getId())).getId();
+            employeeIds.add(employeeId);
+            for (int r = 0; r < REQUESTS_PER_EMPLOYEE; r++) {
+                LocalDate monday = firstMonday.plusWeeks(r);
+                requestIds.add(leaveRequestService.submitLeaveRequest(new LeaveRequestDTO(null, employeeId, LeaveType.ANNUAL,
+                        monday, monday.plusDays(DAYS_PER_REQUEST - 1), "Stress test request", null)).getId());
+            }
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Long requestId : requestIds) {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                tasks.add(() -> {
+                    approve(requestId, manager.getId());
+                    return null;
+                });
+            }
+        }
+        for (Long employeeId : employeeIds) {
+            tasks.add(() -> {
+                rewriteRole(employeeId);
+                return null;
+            });
+        }
+        Collections.shuffle(tasks, new Random(42));
+        runTogether(tasks);
+
+        for (Long employeeId : employeeIds) {
+            long approved = leaveRequestService.getLeaveRequestsByEmployeeId(employeeId).stream()
+                    .filter(request -> request.getStatus() == LeaveRequest.LeaveStatus.APPROVED)
+                    .count();
+            int balance = employeeService.getEmployeeById(employeeId).orElseThrow().getAnnualLeaveBalance();
+            assertThat(balance).as("balance of %d", employeeId).isNotNegative();
+            assertThat(balance).as("balance of %d", employeeId).isEqualTo(BALANCE - approved * DAYS_PER_REQUEST);
+            assertThat(approved).as("approved for %d", employeeId).isEqualTo(BALANCE / DAYS_PER_REQUEST);
+        }
+    }
+
+    // Losing the race for a request or for the last days of balance is expected; anything else fails the test
+    private void approve(Long requestId, Long managerId) {
+        try {
+            leaveRequestService.approveLeaveRequest(requestId, managerId, "Approved under contention");
+        } catch (BusinessRuleException e) {
+            assertThat(e.getMessage()).isIn("Leave request is not in pending status",
+                    "Requested leave days exceed available annual leave balance");
+        }
+    }
+
+    // A read-modify-write that carries the balance it read; a stale version must be refused, not written
+    private void rewriteRole(Long employeeId) {
+        int updates = 0;
+        while (updates < UPDATES_PER_EMPLOYEE) {
+            EmployeeDTO employee = employeeService.getEmployeeById(employeeId).orElseThrow();
+            employee.setRole("Developer " + updates);
+            try {
+                employeeService.updateEmployee(employeeId, employee);
+                updates++;
+            } catch (OptimisticLockingFailureException e) {
+                // Read again and retry
+            }
+        }
+    }
+
+    private static void runTogether(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                // Rethrows assertion failures and unexpected exceptions from the workers
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static EmployeeDTO employee(Long managerId) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        EmployeeDTO employee = new EmployeeDTO(null, "Stress " + suffix, "stress-" + suffix + "@company.com",
+                "Engineering", "Developer", managerId);
+        employee.setJoiningDate(LocalDate.of(2023, 1, 1));
+        employee.setAnnualLeaveBalance(BALANCE);
+        return employee;
+    }
+}
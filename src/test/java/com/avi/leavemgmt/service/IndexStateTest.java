@@ -0,0 +1,84 @@
+package com.avi.leavemgmt.service;
+
+import com.avi.leavemgmt.model.LeaveRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Applies changes while a rebuild is reading its snapshot, the window in which they used to be
+ * lost, and after it, when they used to be counted twice. The state counts how often each change
+ * reached it: 1 per creation, 10 per status change.
+ */
+class IndexStateTest {
+
+    private final IndexState<Map<Long, Integer>> state = new IndexState<>(new ConcurrentHashMap<>());
+
+    @Test
+    void replaysChangesTheSnapshotMissedAndOnlyThose() {
+        LeaveRequest readBeforeChange = request(1L, 0L);
+        LeaveRequest createdAfterRead = request(2L, 0L);
+        LeaveRequest alreadyRead = request(3L, 0L);
+        LeaveRequest decidedBeforeRead = request(4L, 1L);
+
+        state.rebuild(() -> {
+            // The statement saw requests 1 and 3 at version 0; these commit around it
+            state.changed(request(1L, 1L), counting(1L, 10));
+            state.created(createdAfterRead, counting(2L, 1));
+            state.changed(request(2L, 1L), counting(2L, 10));
+            state.created(alreadyRead, counting(3L, 1));
+            state.changed(decidedBeforeRead, counting(4L, 10));
+            return List.of(readBeforeChange, alreadyRead);
+        }, IndexStateTest::countOnce);
+
+        assertThat(state.get()).isEqualTo(Map.of(1L, 11, 2L, 11, 3L, 1));
+    }
+
+    @Test
+    void skipsCallbacksOfChangesTheSnapshotAlreadyRead() {
+        // Request 1 was decided and request 2 created before the statement, but their after-commit
+        // callbacks only run once the rebuilt state is in place
+        state.rebuild(() -> List.of(request(1L, 1L), request(2L, 0L)), IndexStateTest::countOnce);
+        state.changed(request(1L, 1L), counting(1L, 10));
+        state.created(request(2L, 0L), counting(2L, 1));
+        state.changed(request(1L, 2L), counting(1L, 10));
+
+        assertThat(state.get()).isEqualTo(Map.of(1L, 11, 2L, 1));
+    }
+
+    @Test
+    void keepsTheCurrentStateWhenTheSnapshotFails() {
+        Map<Long, Integer> before = state.get();
+
+        assertThatThrownBy(() -> state.rebuild(() -> {
+            throw new IllegalStateException("database down");
+        }, leaveRequests -> new HashMap<>())).isInstanceOf(IllegalStateException.class);
+        state.created(request(1L, 0L), counting(1L, 1));
+
+        assertThat(state.get()).isSameAs(before).isEqualTo(Map.of(1L, 1));
+    }
+
+    private static Map<Long, Integer> countOnce(List<LeaveRequest> leaveRequests) {
+        Map<Long, Integer> built = new ConcurrentHashMap<>();
+        leaveRequests.forEach(leaveRequest -> built.put(leaveRequest.getId(), 1));
+        return built;
+    }
+
+    private static Consumer<Map<Long, Integer>> counting(Long id, int amount) {
+        return counts -> counts.merge(id, amount, Integer::sum);
+    }
+
+    private static LeaveRequest request(Long id, Long version) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setId(id);
+        leaveRequest.setVersion(version);
+        return leaveRequest;
+    }
+}